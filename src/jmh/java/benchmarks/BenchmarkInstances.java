@@ -0,0 +1,22 @@
+package benchmarks;
+
+import core.State;
+
+/**
+ * The fixed corpus of instances used by the benchmarks,so the results of different runs can be compared
+ */
+public class BenchmarkInstances {
+
+    /**
+     * @param size "small"(a few states),"medium"(hundreds of states) or "large"(hundreds of thousands of states)
+     * @return the initial state of the instance
+     */
+    public static State of( String size ) {
+        return switch (size) {
+            case "small" -> State.getInitialState( 5 , 3 , 4 );
+            case "medium" -> State.getInitialState( 97 , 61 , 4 );
+            case "large" -> State.getInitialState( 100003 , 65537 , 7 );
+            default -> throw new IllegalArgumentException( "Unknown instance size: " + size );
+        };
+    }
+}
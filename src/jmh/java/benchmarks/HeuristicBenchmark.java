@@ -0,0 +1,55 @@
+package benchmarks;
+
+import core.State;
+import heuristics.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmarks of Heuristic.evaluate() for each heuristic,on random states of the medium instance
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+//core.State is imported,so the annotation is qualified
+@org.openjdk.jmh.annotations.State(Scope.Thread)
+public class HeuristicBenchmark {
+    private static final int NR_STATES = 1024;
+
+    @Param({ "Heuristic1", "Heuristic2", "Heuristic3", "DistanceHeuristic1" })
+    public String heuristicName;
+
+    private Heuristic heuristic;
+    private final State[] states = new State[NR_STATES];
+
+    @Setup
+    public void setup() {
+        heuristic = switch (heuristicName) {
+            case "Heuristic1" -> new Heuristic1();
+            case "Heuristic2" -> new Heuristic2();
+            case "Heuristic3" -> new Heuristic3();
+            case "DistanceHeuristic1" -> new DistanceHeuristic1();
+            default -> throw new IllegalArgumentException( "Unknown heuristic: " + heuristicName );
+        };
+
+        var random = new Random( 42 );
+        var instance = BenchmarkInstances.of( "medium" );
+        for ( int i = 0 ; i < NR_STATES ; ++i ) {
+            states[i] = new State( random.nextLong( instance.getN() + 1 ) , random.nextLong( instance.getM() + 1 ) ,
+                    instance.getN() , instance.getM() , instance.getK() );
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NR_STATES)
+    public void evaluate( Blackhole blackhole ) {
+        for ( int i = 0 ; i < NR_STATES ; ++i ) {
+            blackhole.consume( heuristic.evaluate( states[i] ) );
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package benchmarks;
+
+import core.Move;
+import core.State;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmarks of the operations on State used by the strategies
+ * Each invocation goes over the same random states and moves,so the branches of the moves are not predictable
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+//core.State is imported,so the annotation is qualified
+@org.openjdk.jmh.annotations.State(Scope.Thread)
+public class StateBenchmark {
+    private static final int NR_STATES = 1024;
+
+    private final State[] states = new State[NR_STATES];
+    //for each state,a copy of it(even positions) or another state(odd positions),compared with equals()
+    private final State[] others = new State[NR_STATES];
+    private final Move[] moves = new Move[NR_STATES];
+
+    @Setup
+    public void setup() {
+        var random = new Random( 42 );
+        long n = 97, m = 61, k = 4;
+        for ( int i = 0 ; i < NR_STATES ; ++i ) {
+            states[i] = new State( random.nextLong( n + 1 ) , random.nextLong( m + 1 ) , n , m , k );
+            others[i] = i % 2 == 0 ? states[i].copy() : new State( random.nextLong( n + 1 ) , random.nextLong( m + 1 ) , n , m , k );
+            moves[i] = Move.fromCode( random.nextInt( Move.NR_MOVES ) );
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NR_STATES)
+    public void executeMove( Blackhole blackhole ) {
+        for ( int i = 0 ; i < NR_STATES ; ++i ) {
+            blackhole.consume( State.executeMove( states[i] , moves[i] ) );
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NR_STATES)
+    public void moveIsValid( Blackhole blackhole ) {
+        for ( int i = 0 ; i < NR_STATES ; ++i ) {
+            blackhole.consume( State.moveIsValid( states[i] , moves[i] ) );
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NR_STATES)
+    public void stateHashCode( Blackhole blackhole ) {
+        for ( int i = 0 ; i < NR_STATES ; ++i ) {
+            blackhole.consume( states[i].hashCode() );
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(NR_STATES)
+    public void stateEquals( Blackhole blackhole ) {
+        for ( int i = 0 ; i < NR_STATES ; ++i ) {
+            blackhole.consume( states[i].equals( others[i] ) );
+        }
+    }
+}
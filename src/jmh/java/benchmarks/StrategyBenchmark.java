@@ -0,0 +1,80 @@
+package benchmarks;
+
+import core.State;
+import heuristics.DistanceHeuristic1;
+import heuristics.Heuristic1;
+import heuristics.Heuristic2;
+import org.openjdk.jmh.annotations.*;
+import strategy.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs each strategy on each instance of the corpus(see BenchmarkInstances)
+ * Besides the solves per second,the expanded and generated states of the solves are reported as rates(states per second),
+ * from the statistics of the strategies(see SearchStatistics)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+//core.State is imported,so the annotation is qualified
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+public class StrategyBenchmark {
+
+    @Param({ "BFSV2", "AStarV2", "BacktrackingV1", "BacktrackingV2", "IterativeDeepening", "IDAStar", "GreedyHillClimbing", "StochasticHillClimbing" })
+    public String strategyType;
+
+    @Param({ "small", "medium", "large" })
+    public String instance;
+
+    private State initialState;
+
+    /**
+     * The states counted by the strategies,reported by JMH as rates next to the score
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @org.openjdk.jmh.annotations.State(Scope.Thread)
+    public static class SearchCounters {
+        public long expandedStates;
+        public long generatedStates;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            expandedStates = 0;
+            generatedStates = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        initialState = BenchmarkInstances.of( instance );
+    }
+
+    private Strategy createStrategy() {
+        return switch (strategyType) {
+            case "BFSV2" -> new BFSV2Strategy( initialState );
+            case "AStarV2" -> new AStarV2Strategy( initialState , new DistanceHeuristic1() , 500000 );
+            case "BacktrackingV1" -> new BacktrackingV1Strategy( initialState );
+            //the number of paths grows exponentially with the max number of moves
+            case "BacktrackingV2" -> new BacktrackingV2Strategy( initialState , 10 );
+            case "IterativeDeepening" -> new IterativeDeepeningStrategy( initialState , 10000 );
+            case "IDAStar" -> new IDAStarStrategy( initialState , new DistanceHeuristic1() , 10000 );
+            case "GreedyHillClimbing" -> new GreedyHillClimbingStrategy( initialState , new Heuristic1() , 1000 , 2 , 20 );
+            case "StochasticHillClimbing" -> new StochasticHillClimbingStrategy( initialState , new Heuristic2() , 400 , 20 );
+            default -> throw new IllegalArgumentException( "Unknown strategy: " + strategyType );
+        };
+    }
+
+    @Benchmark
+    public Strategy solve( SearchCounters counters ) {
+        Strategy strategy = createStrategy();
+        strategy.start();
+
+        var statistics = strategy.getStatistics();
+        counters.expandedStates += statistics.getNrExpandedStates();
+        counters.generatedStates += statistics.getNrGeneratedStates();
+        return strategy;
+    }
+}
@@ -0,0 +1,63 @@
+package loadtest;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the pauses of the garbage collections of the JVM,from the notifications of the garbage collectors
+ * The concurrent cycles(G1 Concurrent GC,ZGC Cycles) don't stop the application,so they are not counted.
+ * The server and the load generator run in the same JVM,so the collections of both are recorded
+ */
+public class GcPauseRecorder implements NotificationListener {
+    private final List<Long> pauseMillis = new ArrayList<>();
+    private boolean recording;
+
+    public GcPauseRecorder() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            String name = collector.getName();
+            if (collector instanceof NotificationEmitter emitter && !name.contains("Concurrent") && !name.contains("Cycles")) {
+                emitter.addNotificationListener(this, null, null);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void handleNotification(Notification notification, Object handback) {
+        if (recording && GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            var info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            pauseMillis.add(info.getGcInfo().getDuration());
+        }
+    }
+
+    /**
+     * Starts recording,the collections before are ignored(for example the ones of the warmup)
+     */
+    public synchronized void start() {
+        pauseMillis.clear();
+        recording = true;
+    }
+
+    public synchronized void stop() {
+        recording = false;
+    }
+
+    /**
+     * @return the number of pauses,their total and max duration,in a line of the report
+     */
+    public synchronized String summary() {
+        long total = 0, max = 0;
+        for (long pause : pauseMillis) {
+            total += pause;
+            max = Math.max(max, pause);
+        }
+        return String.format("gc pauses: %d, total %d ms, max %d ms", pauseMillis.size(), total, max);
+    }
+}
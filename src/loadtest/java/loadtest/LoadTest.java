@@ -0,0 +1,171 @@
+package loadtest;
+
+import com.server.AiTema1ServerApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Starts the server on a random port,in this JVM,and sends /request at a fixed rate with a mix of strategies and instances
+ * The requests are sent at their scheduled time even if the previous ones didn't finish(an open workload),
+ * and the latency of a request is measured from its scheduled time,so a stall of the server shows in the latencies
+ * of all the requests that should have been sent during it.
+ * The arguments are key=value pairs,for example:rate=200 warmup=10 duration=30 mix=BFS/small=5,Analytic/large=1
+ * The mix gives the weight of each strategy/instance pair,the instances are the same as the ones of the benchmarks.
+ * The same requests are repeated,so after the first one they are answered by the SolutionCache(except HillClimb)
+ * like on the real server,set solution-cache.max-weight=0 in the arguments of the JVM to measure the strategies
+ */
+public class LoadTest {
+    private static final Map<String, long[]> instances = Map.of(
+            "small", new long[]{5, 3, 4},
+            "medium", new long[]{97, 61, 4},
+            "large", new long[]{100003, 65537, 7});
+
+    private static final String defaultMix = "BFS/small=4,BFS/medium=4,BFS/large=1,Analytic/large=2,Backtracking/small=2,HillClimb/small=1";
+
+    /**
+     * The body of a /request and its weight in the mix
+     */
+    private record RequestType(String body, int weight) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("The arguments should be key=value, not " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        double rate = Double.parseDouble(options.getOrDefault("rate", "100"));
+        long warmupSeconds = Long.parseLong(options.getOrDefault("warmup", "10"));
+        long durationSeconds = Long.parseLong(options.getOrDefault("duration", "30"));
+        List<RequestType> mix = parseMix(options.getOrDefault("mix", defaultMix));
+
+        var context = SpringApplication.run(AiTema1ServerApplication.class, "--server.port=0");
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            run(URI.create("http://localhost:" + port + "/request"), rate, warmupSeconds, durationSeconds, mix);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static List<RequestType> parseMix(String mix) {
+        List<RequestType> requestTypes = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] nameAndWeight = entry.split("=");
+            String[] strategyAndInstance = nameAndWeight[0].split("/");
+            long[] instance = instances.get(strategyAndInstance[1]);
+            if (instance == null) {
+                throw new IllegalArgumentException("Unknown instance " + strategyAndInstance[1] + ", it should be one of " + instances.keySet());
+            }
+            requestTypes.add(new RequestType(body(strategyAndInstance[0], instance), Integer.parseInt(nameAndWeight[1])));
+        }
+        return requestTypes;
+    }
+
+    /**
+     * @return the items of a /request,with the parameters of the strategies used by the frontend
+     */
+    private static String body(String strategy, long[] instance) {
+        return String.format("[{\"id\":\"container-1\",\"value\":\"%d\"},{\"id\":\"container-2\",\"value\":\"%d\"},"
+                        + "{\"id\":\"capacity\",\"value\":\"%d\"},{\"id\":\"strategy\",\"value\":\"%s\"},"
+                        + "{\"id\":\"iterations\",\"value\":\"20\"},{\"id\":\"depth\",\"value\":\"2\"},{\"id\":\"improvements\",\"value\":\"20\"}]",
+                instance[0], instance[1], instance[2], strategy);
+    }
+
+    private static void run(URI uri, double rate, long warmupSeconds, long durationSeconds, List<RequestType> mix) {
+        var client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        var gcPauses = new GcPauseRecorder();
+        var random = new Random(42);
+        int totalWeight = mix.stream().mapToInt(RequestType::weight).sum();
+
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long nrWarmupRequests = (long) (warmupSeconds * rate), nrRequests = (long) (durationSeconds * rate);
+        //the latencies of the measured requests,in microseconds,by the index of the request
+        long[] latencies = new long[(int) nrRequests];
+        var nrErrors = new AtomicLong();
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+
+        System.out.printf("%d warmup requests, then %d requests at %.1f/s to %s%n", nrWarmupRequests, nrRequests, rate, uri);
+        long startTime = System.nanoTime();
+        for (long i = 0; i < nrWarmupRequests + nrRequests; ++i) {
+            long scheduledTime = startTime + i * intervalNanos;
+            for (long now = System.nanoTime(); now < scheduledTime; now = System.nanoTime()) {
+                LockSupport.parkNanos(scheduledTime - now);
+            }
+            if (i == nrWarmupRequests) {
+                gcPauses.start();
+            }
+
+            //the same request types in the same order on every run
+            int choice = random.nextInt(totalWeight);
+            RequestType requestType = mix.get(0);
+            for (var type : mix) {
+                if (choice < type.weight()) {
+                    requestType = type;
+                    break;
+                }
+                choice -= type.weight();
+            }
+
+            var request = HttpRequest.newBuilder(uri)
+                    .timeout(Duration.ofSeconds(60))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(requestType.body()))
+                    .build();
+            int index = (int) (i - nrWarmupRequests);
+            var response = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((result, exception) -> {
+                        if (index >= 0) {
+                            latencies[index] = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledTime);
+                            if (exception != null || result.statusCode() != 200) {
+                                nrErrors.incrementAndGet();
+                            }
+                        }
+                    });
+            if (index >= 0) {
+                pending.add(response);
+            }
+        }
+
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).exceptionally(exception -> null).join();
+        long measuredNanos = System.nanoTime() - startTime - nrWarmupRequests * intervalNanos;
+        gcPauses.stop();
+
+        Arrays.sort(latencies);
+        System.out.printf("throughput: %.1f requests/s, errors: %d%n", nrRequests / (measuredNanos / 1e9), nrErrors.get());
+        System.out.printf("latency: p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms%n",
+                percentile(latencies, 0.5), percentile(latencies, 0.99), percentile(latencies, 0.999), percentile(latencies, 1));
+        System.out.println(gcPauses.summary());
+    }
+
+    /**
+     * @param latencies the sorted latencies,in microseconds
+     * @return the latency of the given percentile,in milliseconds
+     */
+    private static double percentile(long[] latencies, double percentile) {
+        if (latencies.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * latencies.length) - 1;
+        return latencies[Math.max(index, 0)] / 1000.0;
+    }
+}
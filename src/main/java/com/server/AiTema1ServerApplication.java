@@ -2,85 +2,356 @@ package com.server;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import core.Move;
+import core.MoveType;
 import core.State;
-import heuristics.Heuristic1;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import strategy.Strategy;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 
 @CrossOrigin
 @RestController
 @SpringBootApplication
 public class AiTema1ServerApplication {
 
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    //the readers are thread safe,they are shared so the deserializers are built once
+    private static final ObjectReader itemsReader = objectMapper.readerFor(new TypeReference<ArrayList<HashMap<String, String>>>() {
+    });
+    private static final ObjectReader batchReader = objectMapper.readerFor(new TypeReference<List<List<HashMap<String, String>>>>() {
+    });
+    private static final ObjectReader solveRequestReader = objectMapper.readerFor(SolveRequest.class)
+            .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+
+    static {
+        //reads a request,so the deserializer of SolveRequest is built now and not on the first request
+        try {
+            solveRequestReader.readValue("{\"n\":5,\"m\":3,\"k\":4,\"strategy\":\"BFS\",\"depth\":0,\"iterations\":0,\"improvements\":0}");
+        } catch (IOException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    //tells if the solution is complete or the strategy was stopped by its time budget(see SolveExecutor.Status)
+    private static final String solveStatusHeader = "X-Solve-Status";
+    //the max number of moves of a solution sent by /request,/v2/request and /batch,
+    //a longer solution is cut and its status is TRUNCATED
+    private static final int maxNrReturnedMoves = 1000000;
+    //the same for /request/stream,which doesn't keep the steps in memory(a step is around 150 bytes of JSON)
+    private static final long maxNrStreamedMoves = 10000000;
+
+    private final SolutionCache solutionCache;
+    private final BatchSolver batchSolver;
+    private final SolveExecutor solveExecutor;
+    private final SolveMetrics solveMetrics;
+
+    public AiTema1ServerApplication(SolutionCache solutionCache, BatchSolver batchSolver, SolveExecutor solveExecutor,
+                                    SolveMetrics solveMetrics) {
+        this.solutionCache = solutionCache;
+        this.batchSolver = batchSolver;
+        this.solveExecutor = solveExecutor;
+        this.solveMetrics = solveMetrics;
+    }
+
     public static void main(String[] args) {
         SpringApplication.run(AiTema1ServerApplication.class, args);
     }
 
     @PostMapping("/request")
-    public List<Map<Move, State>> request(@RequestBody String body) throws JsonProcessingException {
-        ArrayList<HashMap<String, String>> list = new ObjectMapper().readValue(body, new TypeReference<ArrayList<HashMap<String, String>>>() {
-        });
+    public ResponseEntity<List<Map<Move, State>>> request(@RequestBody String body) throws JsonProcessingException {
+        ArrayList<HashMap<String, String>> list = itemsReader.readValue(body);
         System.out.println("LIST: " + list);
 
-        long n = 0, m = 0, k = 0;
-        int iterations = 0, depth = 0, improvements = 0;
-        String strategyType = new String("");
-        for (var item : list) {
-            var id = item.get("id");
-            var value = item.get("value");
-            switch (item.get("id")) {
-                case "container-1":
-                    n = Long.parseLong(value);
-                    break;
-                case "container-2":
-                    m = Long.parseLong(value);
-                    break;
-                case "capacity":
-                    k = Long.parseLong(value);
-                    break;
-                case "strategy":
-                    strategyType = value;
-                    break;
-                case "depth":
-                    depth = Integer.parseInt(value);
-                    break;
-                case "improvements":
-                    improvements = Integer.parseInt(value);
-                    break;
-                case "iterations":
-                    iterations = Integer.parseInt(value);
-                    break;
+        var parameters = SolveParameters.fromItems(list);
+        Solution solution = solve(parameters);
+        var steps = solution.steps();
+        System.out.println(steps);
+        return ResponseEntity.status(toHttpStatus(solution.status()))
+                .header(solveStatusHeader, solution.status().name())
+                .body(steps);
+    }
+
+    /**
+     * Same as /request,but the body is a SolveRequest,which is validated
+     * A request that isn't valid gets 400 with its problems,as {"errors":[...]}
+     */
+    @PostMapping("/v2/request")
+    public ResponseEntity<?> requestV2(@RequestBody byte[] body) {
+        SolveRequest request;
+        try {
+            request = solveRequestReader.readValue(body);
+        } catch (IOException e) {
+            return badRequest(List.of("The request can't be read: " + (e instanceof JsonProcessingException jsonException
+                    ? jsonException.getOriginalMessage() : e.getMessage())));
+        }
+        if (request == null) {
+            return badRequest(List.of("The request is empty"));
+        }
+        var errors = request.validate();
+        if (!errors.isEmpty()) {
+            return badRequest(errors);
+        }
+
+        Solution solution = solve(request.toParameters());
+        return ResponseEntity.status(toHttpStatus(solution.status()))
+                .header(solveStatusHeader, solution.status().name())
+                .body(solution.steps());
+    }
+
+    /**
+     * The errors are in the body,the message of a ResponseStatusException isn't sent by default(server.error.include-message)
+     */
+    private static ResponseEntity<Map<String, List<String>>> badRequest(List<String> errors) {
+        return ResponseEntity.badRequest().body(Map.of("errors", errors));
+    }
+
+    /**
+     * Same as /request,chosen when the client accepts SolutionBinaryWriter.MEDIA_TYPE:
+     * the solution is sent as the packed codes of its moves instead of the list of steps(see SolutionBinaryWriter)
+     */
+    @PostMapping(value = "/request", produces = SolutionBinaryWriter.MEDIA_TYPE)
+    public ResponseEntity<byte[]> requestBinary(@RequestBody String body) throws JsonProcessingException {
+        ArrayList<HashMap<String, String>> list = itemsReader.readValue(body);
+
+        var parameters = SolveParameters.fromItems(list);
+        Solution solution = solve(parameters);
+        return ResponseEntity.status(toHttpStatus(solution.status()))
+                .header(solveStatusHeader, solution.status().name())
+                .contentType(MediaType.parseMediaType(SolutionBinaryWriter.MEDIA_TYPE))
+                .body(SolutionBinaryWriter.write(solution.initialState(),
+                        solution.moves() == null ? Collections.emptyList() : solution.moves()));
+    }
+
+    /**
+     * Solves many instances in one request,the body is a list with the items of a /request for each instance
+     * The instances with the same vases are solved together,the groups are solved in parallel(see BatchSolver)
+     * @return the steps of the solution of each instance,in the order of the instances
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<List<Map<Move, State>>>> batch(@RequestBody String body) throws JsonProcessingException {
+        List<List<HashMap<String, String>>> instances = batchReader.readValue(body);
+        if (instances.size() > batchSolver.getMaxBatchSize()) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(null);
+        }
+
+        List<SolveParameters> parameters = new ArrayList<>();
+        for (var items : instances) {
+            parameters.add(SolveParameters.fromItems(items));
+        }
+        return ResponseEntity.ok().body(batchSolver.solveAll(parameters, instance -> solve(instance).steps()));
+    }
+
+    /**
+     * The moves of a solution from the initial state of the request,and how the strategy ended
+     * The moves are null if there is no strategy for the request
+     */
+    private record Solution(State initialState, Iterable<Move> moves, SolveExecutor.Status status) {
+
+        /**
+         * @return the steps of the solution,in the format of Strategy.getSolution()
+         */
+        List<Map<Move, State>> steps() {
+            return moves == null ? new ArrayList<>() : toSteps(initialState, moves);
+        }
+    }
+
+    /**
+     * Solves a request,using the cache if the request(or an equivalent one) was already solved
+     * The strategy runs on the SolveExecutor,with a time budget.
+     * The moves are the whole solution,they can be generated while iterating(see solve() for the cut ones)
+     */
+    private Solution solveAll(SolveParameters parameters) {
+        //without a solution or already final,every strategy returns just the initial state,so none is created
+        State initialState = parameters.getInitialState();
+        if (Main.strategyTypes.contains(parameters.strategyType()) && (!initialState.hasSolution() || initialState.isFinal())) {
+            return new Solution(initialState, Collections.emptyList(), SolveExecutor.Status.COMPLETED);
+        }
+
+        //equivalent instances are solved and cached as the same canonical instance
+        var canonicalRequest = CanonicalRequest.of(parameters);
+        var canonicalParameters = canonicalRequest.parameters();
+
+        var status = SolveExecutor.Status.COMPLETED;
+        Iterable<Move> moves = solutionCache.get(canonicalParameters);
+        if (moves == null) {
+            Strategy strategy = Main.createStrategy(canonicalParameters);
+            if (strategy == null) {
+                return new Solution(initialState, null, status);
+            }
+            status = run(strategy);
+            if (status == SolveExecutor.Status.TIMED_OUT) {
+                return new Solution(initialState, Collections.emptyList(), status);
+            }
+            moves = strategy.getMoves();
+            if (status == SolveExecutor.Status.COMPLETED) {
+                solutionCache.put(canonicalParameters, moves);
+            }
+        }
+        return new Solution(initialState, canonicalRequest.toOriginalMoves(moves), status);
+    }
+
+    /**
+     * Same as solveAll,but a solution with more than maxNrReturnedMoves moves is cut and its status is TRUNCATED
+     * (the whole solution is still cached)
+     */
+    private Solution solve(SolveParameters parameters) {
+        var solution = solveAll(parameters);
+        if (solution.moves() == null) {
+            return solution;
+        }
+
+        var status = solution.status();
+        List<Move> moves = firstMoves(solution.moves(), maxNrReturnedMoves + 1);
+        //a longer solution isn't sent,the client sees that only its first moves are returned
+        if (moves.size() > maxNrReturnedMoves) {
+            moves = moves.subList(0, maxNrReturnedMoves);
+            if (status == SolveExecutor.Status.COMPLETED) {
+                status = SolveExecutor.Status.TRUNCATED;
             }
         }
+        return new Solution(solution.initialState(), moves, status);
+    }
+
+    /**
+     * Runs a strategy on the SolveExecutor and records its metrics
+     * The metrics are recorded by the thread of the strategy when it finishes,
+     * a strategy that timed out can still be running and changing its statistics when run() returns
+     */
+    private SolveExecutor.Status run(Strategy strategy) {
+        return solveExecutor.run(strategy, elapsedNanos -> solveMetrics.record(strategy, elapsedNanos));
+    }
+
+    /**
+     * Same as /request,but the steps are written as newline-delimited JSON while the moves of the solution are replayed,
+     * instead of building the whole list of steps before sending it
+     * A solution with more than maxNrStreamedMoves moves is cut and its status is TRUNCATED,like in /request
+     */
+    @PostMapping(value = "/request/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> requestStream(@RequestBody String body) throws JsonProcessingException {
+        ArrayList<HashMap<String, String>> list = itemsReader.readValue(body);
+
+        var parameters = SolveParameters.fromItems(list);
+        Solution solution = solveAll(parameters);
+        var status = solution.status();
+        Iterable<Move> allMoves = solution.moves() == null ? Collections.emptyList() : solution.moves();
+        //the moves are counted before the status header is sent,they are generated again while streaming
+        Iterable<Move> moves = limit(allMoves, maxNrStreamedMoves);
+        if (count(allMoves, maxNrStreamedMoves + 1) > maxNrStreamedMoves && status == SolveExecutor.Status.COMPLETED) {
+            status = SolveExecutor.Status.TRUNCATED;
+        }
+        return ResponseEntity.status(toHttpStatus(status))
+                .header(solveStatusHeader, status.name())
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> SolutionStreamWriter.write(solution.initialState(), moves, outputStream));
+    }
+
+    @GetMapping("/cache/stats")
+    public SolutionCache.Stats cacheStats() {
+        return solutionCache.getStats();
+    }
+
+    /**
+     * @return the latencies and the search counters of each strategy that was run(see SolveMetrics)
+     */
+    @GetMapping("/metrics")
+    public Map<String, SolveMetrics.Snapshot> metrics() {
+        return solveMetrics.getSnapshots();
+    }
+
+    /**
+     * A strategy that didn't stop has no result,it's a timeout.The partial and truncated results are returned with 200 and the status header
+     */
+    private static HttpStatus toHttpStatus(SolveExecutor.Status status) {
+        return status == SolveExecutor.Status.TIMED_OUT ? HttpStatus.GATEWAY_TIMEOUT : HttpStatus.OK;
+    }
+
+    /**
+     * @return the first maxNrMoves moves,the moves of some strategies(e.g. AnalyticStrategy) are generated while iterating
+     * and there can be too many of them to send
+     */
+    private static List<Move> firstMoves(Iterable<Move> moves, int maxNrMoves) {
+        if (moves instanceof List<Move> list) {
+            return list.size() <= maxNrMoves ? list : list.subList(0, maxNrMoves);
+        }
+        List<Move> firstMoves = new ArrayList<>();
+        for (var iterator = moves.iterator(); iterator.hasNext() && firstMoves.size() < maxNrMoves; ) {
+            firstMoves.add(iterator.next());
+        }
+        return firstMoves;
+    }
 
+    /**
+     * @return the number of moves,but at most maxNrMoves
+     */
+    private static long count(Iterable<Move> moves, long maxNrMoves) {
+        long nrMoves = 0;
+        for (var iterator = moves.iterator(); iterator.hasNext() && nrMoves < maxNrMoves; iterator.next()) {
+            ++nrMoves;
+        }
+        return nrMoves;
+    }
 
-        List<Map<Move, State>> result = new ArrayList<>();
-        switch (strategyType) {
-            case "Backtracking":
-                result = Main.executeBacktrackingV2Strategy(State.getInitialState(n, m, k), iterations);
-                break;
-            case "A*":
-//                Main.executeAStarStrategy(State.getInitialState(n, m, k), new Heuristic2());
-                break;
-            case "BFS":
-                result = Main.executeBFSV2Strategy(State.getInitialState(n, m, k));
-                break;
-            case "HillClimb":
-                result = Main.executeGreedyHillClimbingStrategy(State.getInitialState(n, m, k), new Heuristic1(), iterations, depth, improvements);
-                break;
-        }
-        System.out.println(result);
-        return result;
+    /**
+     * @return the first maxNrMoves moves,without copying them
+     */
+    private static Iterable<Move> limit(Iterable<Move> moves, long maxNrMoves) {
+        return () -> new Iterator<>() {
+            private final Iterator<Move> iterator = moves.iterator();
+            private long nrMoves;
+
+            @Override
+            public boolean hasNext() {
+                return nrMoves < maxNrMoves && iterator.hasNext();
+            }
+
+            @Override
+            public Move next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ++nrMoves;
+                return iterator.next();
+            }
+        };
+    }
+
+    /**
+     * Replays the moves from the initial state,in the same format as Strategy.getSolution()
+     */
+    private static List<Map<Move, State>> toSteps(State initialState, Iterable<Move> moves) {
+        List<Map<Move, State>> steps = new ArrayList<>();
+        Map<Move, State> initial = new HashMap<>();
+        initial.put(new Move(MoveType.EMPTY, 0), initialState);
+        steps.add(initial);
+
+        var state = initialState;
+        for (var move : moves) {
+            Map<Move, State> step = new HashMap<>();
+            state = State.executeMove(state, move);
+            step.put(move, state);
+            steps.add(step);
+        }
+        return steps;
     }
 }
@@ -0,0 +1,71 @@
+package com.server;
+
+import core.Move;
+import core.State;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+/**
+ * Solves the instances of a /batch request
+ * The instances are grouped by their canonical vases(see CanonicalRequest),so the instances of a group share the work:
+ * BFS uses the same DistanceTable and the equivalent instances are found in the SolutionCache.
+ * The groups are solved in parallel on a work-stealing pool with a bounded number of threads,
+ * the instances of a group are solved one after the other by the same thread
+ */
+@Component
+public class BatchSolver {
+    private final ForkJoinPool pool;
+    private final int maxBatchSize;
+
+    public BatchSolver(@Value("${batch.parallelism:0}") int parallelism,
+                       @Value("${batch.max-size:10000}") int maxBatchSize) {
+        //0 means a thread for each core
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * @param instances the parameters of the instances
+     * @param solver solves an instance
+     * @return the solution of each instance,in the order of the instances
+     */
+    public List<List<Map<Move, State>>> solveAll(List<SolveParameters> instances, Function<SolveParameters, List<Map<Move, State>>> solver) {
+        //the positions of the instances of each group,the groups are in the order of their first instance
+        Map<List<Long>, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < instances.size(); ++i) {
+            var canonicalParameters = CanonicalRequest.of(instances.get(i)).parameters();
+            groups.computeIfAbsent(List.of(canonicalParameters.n(), canonicalParameters.m()), vases -> new ArrayList<>()).add(i);
+        }
+
+        //each group writes only the positions of its instances
+        List<List<Map<Move, State>>> solutions = new ArrayList<>(instances.size());
+        for (int i = 0; i < instances.size(); ++i) {
+            solutions.add(null);
+        }
+
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (var positions : groups.values()) {
+            tasks.add(pool.submit(() -> {
+                for (int position : positions) {
+                    solutions.set(position, solver.apply(instances.get(position)));
+                }
+            }));
+        }
+        for (var task : tasks) {
+            task.join();
+        }
+        return solutions;
+    }
+}
@@ -0,0 +1,71 @@
+package com.server;
+
+import core.Move;
+import core.State;
+
+import java.util.Iterator;
+
+/**
+ * A request reduced to its canonical instance,so equivalent requests run the same strategy and share the cache
+ *
+ * If g=gcd(n,m) divides k,(n,m,k) and (n/g,m/g,k/g) have the same solutions(every quantity of water is just multiplied by g),
+ * and swapping the 2 vases only changes the vase of each move.
+ * So the canonical instance has the capacities divided by g and the smaller vase first,
+ * and the moves found for it are mapped back by mirroring them if the vases were swapped.
+ * The states don't have to be mapped back,they are computed by replaying the moves from the initial state of the request
+ * @param parameters the parameters of the canonical instance
+ * @param scale the number by which the capacities were divided
+ * @param swapped true if the vases were swapped
+ */
+public record CanonicalRequest(SolveParameters parameters, long scale, boolean swapped) {
+
+    /**
+     * @param parameters the parameters of a request
+     * @return the canonical form of the request
+     */
+    public static CanonicalRequest of(SolveParameters parameters) {
+        long n = parameters.n(), m = parameters.m(), k = parameters.k();
+
+        //the same gcd as State.hasSolution,the instances without a solution are left as they are
+        long scale = State.computeGCD(n, m);
+        if (scale <= 1 || k % scale != 0) {
+            scale = 1;
+        }
+        n /= scale;
+        m /= scale;
+        k /= scale;
+
+        boolean swapped = n > m;
+        if (swapped) {
+            long capacity = n;
+            n = m;
+            m = capacity;
+        }
+
+        var canonicalParameters = new SolveParameters(n, m, k, parameters.strategyType(), parameters.depth(), parameters.iterations(), parameters.improvements());
+        return new CanonicalRequest(canonicalParameters, scale, swapped);
+    }
+
+    /**
+     * @param moves the moves of a solution of the canonical instance
+     * @return the moves of the solution of the request,mapped while iterating
+     */
+    public Iterable<Move> toOriginalMoves(Iterable<Move> moves) {
+        if (!swapped) {
+            return moves;
+        }
+        return () -> new Iterator<>() {
+            private final Iterator<Move> iterator = moves.iterator();
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Move next() {
+                return iterator.next().mirrored();
+            }
+        };
+    }
+}
@@ -9,8 +9,17 @@ import strategy.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class Main {
+    //the max number of states explored by A*,when the pattern database is too big for the instance
+    private static final int maxNrAStarStates = 1_000_000;
+    //the max number of moves of the solutions searched by IDA*
+    private static final int maxNrIDAStarMoves = 1_000_000;
+
+    //the strategy types for which createStrategy() returns a strategy
+    public static final Set<String> strategyTypes = Set.of("Backtracking", "BFS", "Analytic", "HillClimb", "StochasticHillClimb", "A*", "IDA*");
+
     public static void main(String[] args) {
 //        testStateHasSolution();
 
@@ -65,6 +74,33 @@ public class Main {
         System.out.println("Does " + state + " have a solution? " + state.hasSolution());
     }
 
+    /**
+     * Creates the strategy asked for in a request
+     * @param parameters the parameters of the request
+     * @return the strategy,or null if the strategy type isn't supported
+     */
+    public static Strategy createStrategy(SolveParameters parameters) {
+        State initialState = parameters.getInitialState();
+        return switch (parameters.strategyType()) {
+            //shortest solutions with at most that many moves,without searching every path like BacktrackingV2
+            case "Backtracking" -> new IterativeDeepeningStrategy(initialState, parameters.iterations());
+            //the same solution as BFSV2,but the other requests for the same vases don't search again
+            case "BFS" -> DistanceTable.isSupported(initialState.getN(), initialState.getM())
+                    ? new DistanceTableStrategy(initialState)
+                    : new BFSV2Strategy(initialState);
+            case "Analytic" -> new AnalyticStrategy(initialState);
+            //the exact distances of the pattern database,the climb goes straight to a final state(if there are enough improvements)
+            case "HillClimb" -> new GreedyHillClimbingStrategy(initialState, new PatternDatabaseHeuristic(), parameters.iterations(), parameters.depth(), parameters.improvements());
+            //a random climb among the moves that don't get further from a final state,with the same distances
+            case "StochasticHillClimb" -> new StochasticHillClimbingStrategy(initialState, new PatternDatabaseHeuristic(), parameters.iterations(), parameters.improvements());
+            //with the exact distances A* only expands the states of the shortest paths
+            case "A*" -> new AStarV2Strategy(initialState, new PatternDatabaseHeuristic(), maxNrAStarStates);
+            //the same solutions as A*,keeping only the current path instead of every state it reached
+            case "IDA*" -> new IDAStarStrategy(initialState, new PatternDatabaseHeuristic(), maxNrIDAStarMoves);
+            default -> null;
+        };
+    }
+
     public static List<Map<Move, State>> executeBFSV2Strategy(State initialState) {
         Strategy strategy = new BFSV2Strategy(initialState);
         strategy.start();
@@ -72,6 +108,20 @@ public class Main {
         return strategy.getSolution();
     }
 
+    public static List<Map<Move, State>> executeParallelBFSStrategy(State initialState) {
+        Strategy strategy = new ParallelBFSStrategy(initialState);
+        strategy.start();
+        strategy.printSolution();
+        return strategy.getSolution();
+    }
+
+    public static List<Map<Move, State>> executeBidirectionalBFSStrategy(State initialState) {
+        Strategy strategy = new BidirectionalBFSStrategy(initialState);
+        strategy.start();
+        strategy.printSolution();
+        return strategy.getSolution();
+    }
+
     public static List<Map<Move, State>> executeBacktrackingV2Strategy(State initialState, int maxNrMoves) {
         Strategy strategy = new BacktrackingV2Strategy(initialState, maxNrMoves);
         strategy.start();
@@ -99,6 +149,13 @@ public class Main {
         return strategy.getSolution();
     }
 
+    public static List<Map<Move, State>> executeAnalyticStrategy(State initialState) {
+        Strategy strategy = new AnalyticStrategy(initialState);
+        strategy.start();
+        strategy.printSolution();
+        return strategy.getSolution();
+    }
+
     public static List<Map<Move, State>> executeAStarV2Strategy(State initialState,Heuristic heuristic,int maxNrVisitedStates){
         Strategy strategy=new AStarV2Strategy( initialState,heuristic,maxNrVisitedStates );
         strategy.start();
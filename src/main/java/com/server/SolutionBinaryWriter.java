@@ -0,0 +1,63 @@
+package com.server;
+
+import core.Move;
+import core.State;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Writes a solution in a compact binary format,returned by /request when the client accepts MEDIA_TYPE
+ * The format is(big endian):n,m and k as 8 byte numbers,the number of moves as a 4 byte number,
+ * then the codes of the moves(see Move.getCode()) on 3 bits each:the move i is on the bits [3i,3i+3) of the packed bytes,
+ * counting the bits of each byte from the least significant one,and the unused bits of the last byte are 0.
+ * The states aren't sent,the client gets them by replaying the moves from (0,0)
+ */
+public class SolutionBinaryWriter {
+    public static final String MEDIA_TYPE = "application/x-packed-moves";
+
+    private static final int headerSize = 3 * Long.BYTES + Integer.BYTES;
+    private static final int bitsPerMove = 3;
+
+    /**
+     * @param initialState the initial state of the request,which gives n,m and k
+     * @param moves the moves of the solution
+     * @return the solution in the binary format
+     */
+    public static byte[] write(State initialState, Iterable<Move> moves) {
+        //the header is written at the end,when the number of moves is known
+        byte[] bytes = new byte[headerSize + 64];
+        int size = headerSize;
+
+        int nrMoves = 0;
+        //the bits that weren't written yet,the first ones are the least significant
+        int bits = 0, nrBits = 0;
+        for (var move : moves) {
+            bits |= move.getCode() << nrBits;
+            nrBits += bitsPerMove;
+            ++nrMoves;
+
+            if (nrBits >= Byte.SIZE) {
+                if (size == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, bytes.length * 2);
+                }
+                bytes[size++] = (byte) bits;
+                bits >>>= Byte.SIZE;
+                nrBits -= Byte.SIZE;
+            }
+        }
+        if (nrBits > 0) {
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length + 1);
+            }
+            bytes[size++] = (byte) bits;
+        }
+
+        ByteBuffer.wrap(bytes)
+                .putLong(initialState.getN())
+                .putLong(initialState.getM())
+                .putLong(initialState.getK())
+                .putInt(nrMoves);
+        return size == bytes.length ? bytes : Arrays.copyOf(bytes, size);
+    }
+}
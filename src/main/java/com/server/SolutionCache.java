@@ -0,0 +1,138 @@
+package com.server;
+
+import core.Move;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A cache of the solutions of the requests,so the same request doesn't run the strategy again
+ * The key is the request without the parameters that the strategy doesn't use(see SolveParameters.normalized()),
+ * the solution is kept as the codes of its moves(1 byte for each move).
+ * The entries are evicted in LRU order,when the total weight(around the number of bytes of the entries) is bigger than the max weight.
+ * The strategies that use random numbers return a different solution each time,so they are cached only if it's enabled
+ */
+@Component
+public class SolutionCache {
+    //the strategies that can return different solutions for the same request
+    private static final Set<String> randomizedStrategies = Set.of("HillClimb", "StochasticHillClimb");
+
+    //around the number of bytes used by an entry,without its moves
+    private static final int entryOverhead = 96;
+    //a solution heavier than maxWeight/this isn't cached,so it doesn't evict most of the other entries
+    private static final int maxEntryWeightFraction = 16;
+
+    private final long maxWeight;
+    private final boolean cacheRandomizedStrategies;
+
+    //in access order,so the first entry is the least recently used
+    private final LinkedHashMap<SolveParameters, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * The counters of the cache,returned by /cache/stats
+     */
+    public record Stats(long hits, long misses, long evictions, int size, long weight, long maxWeight) {
+    }
+
+    public SolutionCache(@Value("${solution-cache.max-weight:16777216}") long maxWeight,
+                         @Value("${solution-cache.cache-randomized-strategies:false}") boolean cacheRandomizedStrategies) {
+        this.maxWeight = maxWeight;
+        this.cacheRandomizedStrategies = cacheRandomizedStrategies;
+    }
+
+    private static long weightOf(byte[] moves) {
+        return entryOverhead + moves.length;
+    }
+
+    public boolean isCacheable(SolveParameters parameters) {
+        return maxWeight > 0 && (cacheRandomizedStrategies || !randomizedStrategies.contains(parameters.strategyType()));
+    }
+
+    /**
+     * @param parameters the parameters of the request
+     * @return the moves of the solution,or null if the request isn't in the cache
+     */
+    public List<Move> get(SolveParameters parameters) {
+        if (!isCacheable(parameters)) {
+            return null;
+        }
+
+        byte[] moves;
+        synchronized (this) {
+            moves = entries.get(parameters.normalized());
+        }
+        if (moves == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return toMoves(moves);
+    }
+
+    /**
+     * Adds the solution of a request,evicting the least recently used entries if the cache is too heavy
+     * @param parameters the parameters of the request
+     * @param moves the moves of the solution
+     */
+    public void put(SolveParameters parameters, Iterable<Move> moves) {
+        if (!isCacheable(parameters)) {
+            return;
+        }
+
+        var codes = new ByteArrayOutputStream();
+        for (var move : moves) {
+            codes.write(move.getCode());
+            if (entryOverhead + codes.size() > maxWeight / maxEntryWeightFraction) {
+                return;
+            }
+        }
+        byte[] entry = codes.toByteArray();
+
+        synchronized (this) {
+            byte[] previous = entries.put(parameters.normalized(), entry);
+            weight += weightOf(entry) - (previous == null ? 0 : weightOf(previous));
+
+            for (Iterator<Map.Entry<SolveParameters, byte[]>> iterator = entries.entrySet().iterator(); weight > maxWeight && iterator.hasNext(); ) {
+                weight -= weightOf(iterator.next().getValue());
+                iterator.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * @return the moves with the given codes,without copying them
+     */
+    private static List<Move> toMoves(byte[] codes) {
+        return new AbstractList<>() {
+            @Override
+            public Move get(int index) {
+                return Move.fromCode(codes[index]);
+            }
+
+            @Override
+            public int size() {
+                return codes.length;
+            }
+        };
+    }
+
+    public Stats getStats() {
+        synchronized (this) {
+            return new Stats(hits.get(), misses.get(), evictions.get(), entries.size(), weight, maxWeight);
+        }
+    }
+}
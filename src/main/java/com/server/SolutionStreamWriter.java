@@ -0,0 +1,80 @@
+package com.server;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import core.Move;
+import core.State;
+import core.StateSpace;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a solution as newline-delimited JSON,one line for each step with the same format as an element of the list returned by /request
+ * The states are computed by replaying the moves on packed states,so the memory used doesn't depend on the length of the solution
+ */
+public class SolutionStreamWriter {
+    private static final JsonFactory jsonFactory = new JsonFactory()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    //the keys of the steps,indexed by the code of the move
+    private static final SerializableString[] moveKeys = new SerializableString[Move.NR_MOVES];
+
+    //the first steps are sent right away,so the client doesn't wait for a whole buffer
+    private static final int nrStepsFlushedImmediately = 16;
+    private static final int nrStepsBetweenFlushes = 4096;
+
+    static {
+        for (int code = 0; code < Move.NR_MOVES; ++code) {
+            moveKeys[code] = new SerializedString(Move.fromCode(code).toString());
+        }
+    }
+
+    /**
+     * @param initialState the state from which the moves are replayed
+     * @param moves the moves of the solution(see Strategy.getMoves())
+     * @param outputStream where the steps are written
+     */
+    public static void write(State initialState, Iterable<Move> moves, OutputStream outputStream) throws IOException {
+        var stateSpace = StateSpace.of(initialState);
+        long state = stateSpace.pack(initialState);
+
+        try (JsonGenerator generator = jsonFactory.createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+
+            //the first step is the initial state,like for /request
+            writeStep(generator, stateSpace, 0, state);
+            generator.flush();
+
+            long nrSteps = 1;
+            for (var move : moves) {
+                state = stateSpace.executeMove(state, move.getCode());
+                writeStep(generator, stateSpace, move.getCode(), state);
+
+                ++nrSteps;
+                if (nrSteps <= nrStepsFlushedImmediately || nrSteps % nrStepsBetweenFlushes == 0) {
+                    generator.flush();
+                }
+            }
+        }
+    }
+
+    private static void writeStep(JsonGenerator generator, StateSpace stateSpace, int move, long state) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(moveKeys[move]);
+
+        generator.writeStartObject();
+        generator.writeNumberField("capacity0", stateSpace.getCapacity0(state));
+        generator.writeNumberField("capacity1", stateSpace.getCapacity1(state));
+        generator.writeNumberField("n", stateSpace.getN());
+        generator.writeNumberField("m", stateSpace.getM());
+        generator.writeNumberField("k", stateSpace.getK());
+        generator.writeBooleanField("final", stateSpace.isFinal(state));
+        generator.writeEndObject();
+
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
@@ -0,0 +1,113 @@
+package com.server;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import strategy.Strategy;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongConsumer;
+
+/**
+ * Runs the strategies outside of the request threads,each one with a time budget
+ * The strategy gets a deadline(see Strategy.setDeadline) and stops by itself when it passes,
+ * if it still runs a bit after the deadline it's cancelled,and if it doesn't stop even then its result isn't used.
+ * The strategies run on virtual threads when the JVM has them(Java 21+),on a bounded pool of threads otherwise
+ */
+@Component
+public class SolveExecutor {
+
+    /**
+     * How a strategy ended
+     */
+    public enum Status {
+        //the strategy finished
+        COMPLETED,
+        //the strategy stopped at the deadline,its result is the best one found until then
+        PARTIAL,
+        //the strategy didn't stop,there is no result
+        TIMED_OUT,
+        //the strategy finished,but its solution has more moves than a response can have,only the first ones are returned
+        //(set by the server,not by run())
+        TRUNCATED
+    }
+
+    //the time a strategy has to stop after its deadline
+    private static final long gracePeriodNanos = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final ExecutorService executor;
+    private final long timeBudgetNanos;
+
+    public SolveExecutor(@Value("${solve.time-budget-ms:10000}") long timeBudgetMillis,
+                         @Value("${solve.max-threads:64}") int maxThreads) {
+        this.timeBudgetNanos = TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+        this.executor = createExecutor(maxThreads);
+    }
+
+    private static ExecutorService createExecutor(int maxThreads) {
+        //looked up by reflection,since the project is compiled for Java 17
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(maxThreads, runnable -> {
+                Thread thread = new Thread(runnable, "strategy");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Runs strategy.start() with the time budget and waits for it
+     * @return how the strategy ended,its result can be used only if it's not TIMED_OUT
+     */
+    public Status run(Strategy strategy) {
+        return run(strategy, elapsedNanos -> {
+        });
+    }
+
+    /**
+     * Same as run(strategy),and calls onFinished on the thread of the strategy when start() returns
+     * A strategy that is TIMED_OUT can still be running when run() returns,so what the strategy changes while it runs
+     * (e.g. its statistics) should be read in onFinished and not after run()
+     * @param onFinished receives the number of nanoseconds start() ran for
+     * @return how the strategy ended,its result can be used only if it's not TIMED_OUT
+     */
+    public Status run(Strategy strategy, LongConsumer onFinished) {
+        long deadline = System.nanoTime() + timeBudgetNanos;
+        strategy.setDeadline(deadline);
+
+        Future<?> future = executor.submit(() -> {
+            long startTime = System.nanoTime();
+            try {
+                strategy.start();
+            } finally {
+                onFinished.accept(System.nanoTime() - startTime);
+            }
+        });
+        try {
+            try {
+                future.get(timeBudgetNanos + gracePeriodNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                strategy.cancel();
+                future.get(gracePeriodNanos, TimeUnit.NANOSECONDS);
+            }
+        } catch (TimeoutException e) {
+            return Status.TIMED_OUT;
+        } catch (InterruptedException e) {
+            strategy.cancel();
+            Thread.currentThread().interrupt();
+            return Status.TIMED_OUT;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        return strategy.wasStopped() ? Status.PARTIAL : Status.COMPLETED;
+    }
+}
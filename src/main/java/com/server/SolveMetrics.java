@@ -0,0 +1,112 @@
+package com.server;
+
+import org.springframework.stereotype.Component;
+import strategy.SearchStatistics;
+import strategy.Strategy;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics of the strategies that were run,grouped by the name of the strategy,returned by /metrics
+ * For each strategy it keeps the number of runs,a histogram of the durations and the sums(or the max,for the peaks)
+ * of the counters of each run(see SearchStatistics).
+ * The histogram has a bucket for each power of 2 of microseconds,so recording a run is a few atomic additions
+ * and the percentiles are exact up to a factor of 2
+ */
+@Component
+public class SolveMetrics {
+    private static final int nrBuckets = 64;
+
+    private final Map<String, StrategyMetrics> metrics = new ConcurrentHashMap<>();
+
+    private static class StrategyMetrics {
+        //bucket i has the runs that took [2^(i-1),2^i) microseconds,bucket 0 the ones that took less than 1
+        private final AtomicLongArray latencyBuckets = new AtomicLongArray(nrBuckets);
+        private final LongAdder totalMicros = new LongAdder();
+        private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+        private final LongAdder nrExpandedStates = new LongAdder();
+        private final LongAdder nrGeneratedStates = new LongAdder();
+        private final LongAdder nrDuplicateStates = new LongAdder();
+        private final LongAdder nrHeuristicEvaluations = new LongAdder();
+        private final LongAccumulator maxFrontierSize = new LongAccumulator(Math::max, 0);
+        private final LongAccumulator maxDepth = new LongAccumulator(Math::max, 0);
+
+        private void record(SearchStatistics statistics, long micros) {
+            latencyBuckets.incrementAndGet(nrBuckets - Long.numberOfLeadingZeros(micros));
+            totalMicros.add(micros);
+            maxMicros.accumulate(micros);
+
+            nrExpandedStates.add(statistics.getNrExpandedStates());
+            nrGeneratedStates.add(statistics.getNrGeneratedStates());
+            nrDuplicateStates.add(statistics.getNrDuplicateStates());
+            nrHeuristicEvaluations.add(statistics.getNrHeuristicEvaluations());
+            maxFrontierSize.accumulate(statistics.getMaxFrontierSize());
+            maxDepth.accumulate(statistics.getMaxDepth());
+        }
+
+        /**
+         * @return the upper bound of the bucket with the given percentile of the runs(at most the max latency),in microseconds
+         */
+        private long percentile(long[] buckets, long nrRuns, double percentile) {
+            long rank = (long) Math.ceil(nrRuns * percentile), count = 0, max = maxMicros.get();
+            for (int i = 0; i < buckets.length; ++i) {
+                count += buckets[i];
+                if (count >= rank) {
+                    return i == 0 ? 0 : Math.min(1L << Math.min(i, 62), max);
+                }
+            }
+            return max;
+        }
+
+        private Snapshot snapshot() {
+            long[] buckets = new long[nrBuckets];
+            long nrRuns = 0;
+            for (int i = 0; i < nrBuckets; ++i) {
+                buckets[i] = latencyBuckets.get(i);
+                nrRuns += buckets[i];
+            }
+            if (nrRuns == 0) {
+                return new Snapshot(0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+            }
+            return new Snapshot(nrRuns, totalMicros.sum() / nrRuns,
+                    percentile(buckets, nrRuns, 0.5), percentile(buckets, nrRuns, 0.9), percentile(buckets, nrRuns, 0.99),
+                    maxMicros.get(),
+                    nrExpandedStates.sum(), nrGeneratedStates.sum(), nrDuplicateStates.sum(), nrHeuristicEvaluations.sum(),
+                    maxFrontierSize.get(), maxDepth.get());
+        }
+    }
+
+    /**
+     * The metrics of a strategy,the latencies are in microseconds and the counters are summed over all the runs
+     */
+    public record Snapshot(long runs, long meanMicros, long p50Micros, long p90Micros, long p99Micros, long maxMicros,
+                           long expandedStates, long generatedStates, long duplicateStates, long heuristicEvaluations,
+                           long maxFrontierSize, long maxDepth) {
+    }
+
+    /**
+     * Records a run of a strategy
+     * @param strategy the strategy,after it was run
+     * @param elapsedNanos how long the strategy ran
+     */
+    public void record(Strategy strategy, long elapsedNanos) {
+        metrics.computeIfAbsent(strategy.getStrategyName(), name -> new StrategyMetrics())
+                .record(strategy.getStatistics(), TimeUnit.NANOSECONDS.toMicros(Math.max(elapsedNanos, 0)));
+    }
+
+    /**
+     * @return the metrics of each strategy,sorted by the name of the strategy
+     */
+    public Map<String, Snapshot> getSnapshots() {
+        Map<String, Snapshot> snapshots = new TreeMap<>();
+        metrics.forEach((name, strategyMetrics) -> snapshots.put(name, strategyMetrics.snapshot()));
+        return snapshots;
+    }
+}
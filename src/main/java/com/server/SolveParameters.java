@@ -0,0 +1,67 @@
+package com.server;
+
+import core.State;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The parameters of a request:the instance(n,m,k),the strategy used to solve it and the parameters of the strategy
+ */
+public record SolveParameters(long n, long m, long k, String strategyType, int depth, int iterations, int improvements) {
+
+    /**
+     * Reads the parameters from the items sent to /request,each one having an "id" and a "value"
+     * @param items the items of the request
+     * @return the parameters
+     */
+    public static SolveParameters fromItems(List<? extends Map<String, String>> items) {
+        long n = 0, m = 0, k = 0;
+        int iterations = 0, depth = 0, improvements = 0;
+        String strategyType = "";
+        for (var item : items) {
+            var value = item.get("value");
+            switch (item.get("id")) {
+                case "container-1":
+                    n = Long.parseLong(value);
+                    break;
+                case "container-2":
+                    m = Long.parseLong(value);
+                    break;
+                case "capacity":
+                    k = Long.parseLong(value);
+                    break;
+                case "strategy":
+                    strategyType = value;
+                    break;
+                case "depth":
+                    depth = Integer.parseInt(value);
+                    break;
+                case "improvements":
+                    improvements = Integer.parseInt(value);
+                    break;
+                case "iterations":
+                    iterations = Integer.parseInt(value);
+                    break;
+            }
+        }
+        return new SolveParameters(n, m, k, strategyType, depth, iterations, improvements);
+    }
+
+    /**
+     * @return the same parameters,with 0 for the parameters that the strategy doesn't use,
+     * so requests that differ only by those parameters are the same(used as the key of SolutionCache)
+     */
+    public SolveParameters normalized() {
+        return switch (strategyType) {
+            case "Backtracking" -> new SolveParameters(n, m, k, strategyType, 0, iterations, 0);
+            case "HillClimb" -> this;
+            case "StochasticHillClimb" -> new SolveParameters(n, m, k, strategyType, 0, iterations, improvements);
+            default -> new SolveParameters(n, m, k, strategyType, 0, 0, 0);
+        };
+    }
+
+    public State getInitialState() {
+        return State.getInitialState(n, m, k);
+    }
+}
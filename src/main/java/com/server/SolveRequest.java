@@ -0,0 +1,62 @@
+package com.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * The body of /v2/request,the same parameters as the items of /request but with their types,for example
+ * {"n":5,"m":3,"k":4,"strategy":"BFS"}
+ * The parameters of the strategies can be missing,they are 0 then
+ */
+public record SolveRequest(Long n, Long m, Long k, String strategy, Integer depth, Integer iterations, Integer improvements) {
+    //the max capacity of a vase,the quantities of water are packed on 61 bits(see StateSpace)
+    private static final long maxCapacity = (1L << 61) - 1;
+    //the max value of the parameters of the strategies,HillClimb keeps a list of up to depth+improvements moves
+    //in each of its iterations and Backtracking searches solutions of up to iterations moves
+    private static final int maxParameterValue = 1_000_000;
+
+    /**
+     * @return the problems of the request,empty if the request is valid
+     */
+    public List<String> validate() {
+        List<String> errors = new ArrayList<>();
+        validateCapacity(errors, "n", n);
+        validateCapacity(errors, "m", m);
+        validateCapacity(errors, "k", k);
+        if (strategy == null) {
+            errors.add("strategy is missing");
+        } else if (!Main.strategyTypes.contains(strategy)) {
+            errors.add("strategy should be one of " + new TreeSet<>(Main.strategyTypes));
+        }
+        validateParameter(errors, "depth", depth);
+        validateParameter(errors, "iterations", iterations);
+        validateParameter(errors, "improvements", improvements);
+        return errors;
+    }
+
+    private static void validateCapacity(List<String> errors, String name, Long value) {
+        if (value == null) {
+            errors.add(name + " is missing");
+        } else if (value < 0 || value > maxCapacity) {
+            errors.add(name + " should be between 0 and " + maxCapacity);
+        }
+    }
+
+    private static void validateParameter(List<String> errors, String name, Integer value) {
+        if (value != null && (value < 0 || value > maxParameterValue)) {
+            errors.add(name + " should be between 0 and " + maxParameterValue);
+        }
+    }
+
+    /**
+     * @return the parameters of the request,it should be valid(see validate())
+     */
+    public SolveParameters toParameters() {
+        return new SolveParameters(n, m, k, strategy, valueOf(depth), valueOf(iterations), valueOf(improvements));
+    }
+
+    private static int valueOf(Integer parameter) {
+        return parameter == null ? 0 : parameter;
+    }
+}
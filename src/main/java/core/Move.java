@@ -6,6 +6,19 @@ import java.util.Objects;
  * Represents a move or an operation so that we can go from the current state to the next state
  */
 public class Move {
+    //the number of distinct moves(EMPTY,FILL and POUR for each of the 2 vases)
+    public static final int NR_MOVES=6;
+
+    //the moves ordered by their code,see getCode()
+    private static final Move[] movesByCode={
+            new Move( MoveType.EMPTY,0 ),
+            new Move( MoveType.EMPTY,1 ),
+            new Move( MoveType.FILL,0 ),
+            new Move( MoveType.FILL,1 ),
+            new Move( MoveType.POUR,0 ),
+            new Move( MoveType.POUR,1 )
+    };
+
     private final MoveType moveType;
     private final int vaseNumber;
 
@@ -42,4 +55,33 @@ public class Move {
         return vaseNumber;
     }
 
+    /**
+     * Each move has a code between 0 and NR_MOVES-1,used when a move has to be kept as a primitive
+     * The order is EMPTY 0,EMPTY 1,FILL 0,FILL 1,POUR 0,POUR 1
+     * @return the code of this move
+     */
+    public int getCode() {
+        return switch (moveType) {
+            case EMPTY -> vaseNumber;
+            case FILL -> 2 + vaseNumber;
+            case POUR -> 4 + vaseNumber;
+        };
+    }
+
+    /**
+     * @param code the code of a move,between 0 and NR_MOVES-1
+     * @return the move with the given code
+     */
+    public static Move fromCode( int code ) {
+        return movesByCode[code];
+    }
+
+    /**
+     * @return the same move for the other vase,used when the 2 vases are swapped
+     */
+    public Move mirrored() {
+        //the moves of the 2 vases have consecutive codes
+        return fromCode( getCode()^1 );
+    }
+
 }
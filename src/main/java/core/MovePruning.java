@@ -0,0 +1,43 @@
+package core;
+
+/**
+ * Tells which moves are useless right after a given move,so the depth-first strategies don't search them
+ * A move is pruned after the previous move when the 2 moves together get to the same state as a single move
+ * from the state before them(or back to that state),so a path with them is never the shortest one
+ * and the state after them is reached from the state before them anyway:
+ * FILL then EMPTY of the same vase is just EMPTY,EMPTY then FILL of the same vase is just FILL,
+ * pouring one way and then back is just pouring back,and the same move twice(already invalid,see StateSpace.moveIsValid).
+ * EMPTY of a vase right after pouring into it isn't pruned,it keeps the water left in the other vase,
+ * which is how most of the solutions measure k
+ */
+public class MovePruning {
+    //the code of the previous move of the initial state(the same as StateStore.NO_MOVE),no move is pruned after it
+    public static final int NO_MOVE=7;
+
+    //pruned[previous move][move],indexed by the codes of the moves(see Move.getCode())
+    private static final boolean[][] pruned=new boolean[Move.NR_MOVES][Move.NR_MOVES];
+
+    static {
+        for ( int move = 0 ; move < Move.NR_MOVES ; ++move ) {
+            pruned[move][move]=true;
+        }
+        for ( int vase = 0 ; vase < 2 ; ++vase ) {
+            int empty=new Move( MoveType.EMPTY , vase ).getCode();
+            int fill=new Move( MoveType.FILL , vase ).getCode();
+            pruned[fill][empty]=pruned[empty][fill]=true;
+
+            int pour=new Move( MoveType.POUR , vase ).getCode();
+            int pourBack=new Move( MoveType.POUR , 1-vase ).getCode();
+            pruned[pour][pourBack]=true;
+        }
+    }
+
+    /**
+     * @param previousMove the code of the move used to reach the state,or NO_MOVE for the initial state
+     * @param move the code of the next move
+     * @return true if the move doesn't have to be searched after the previous move
+     */
+    public static boolean isPruned( int previousMove , int move ) {
+        return previousMove!=NO_MOVE&&pruned[previousMove][move];
+    }
+}
@@ -1,6 +1,7 @@
 package core;
 
-import java.util.Objects;
+import java.util.ArrayList;
+import java.util.List;
 
 import static java.lang.Math.max;
 import static java.lang.Math.min;
@@ -45,18 +46,17 @@ public class State {
      * @return the new state after the move is applied
      */
     public static State executeMove( State state, Move move){
-        State newState=state.copy();
-
         var moveType=move.getMoveType();
         var nrVase=move.getVaseNumber();
 
+        //fill,empty and pour already return a new state,so there is no need to copy the state here
         switch (moveType){
             case FILL:
-                return newState.fill( nrVase );
+                return state.fill( nrVase );
             case EMPTY:
-                return newState.empty( nrVase );
+                return state.empty( nrVase );
             case POUR:
-                return newState.pour( nrVase );
+                return state.pour( nrVase );
             default:
                 System.out.println("WARNING!Move type not recognized!");
                 System.exit( 0 );
@@ -145,7 +145,34 @@ public class State {
         return false;
     }
 
-    private long computeGCD(long a,long b){
+    /**
+     * The inverse of executeMove,finds the states from which we get to the given state after applying the move
+     * Only the states which can be reached from the initial state are returned(see StateSpace.getPredecessors)
+     * @param state the state reached after the move
+     * @param move the move that contains the move type(FILL,EMPTY or POUR) and the vase number
+     * @return the states from which the move leads to the given state
+     */
+    public static List<State> getPredecessors( State state, Move move){
+        List<State> predecessors=new ArrayList<>();
+
+        var stateSpace=StateSpace.of( state );
+        //a state with no empty or full vase can't be reached using any move
+        if(!stateSpace.isOnBoundary( state.getCapacity0(),state.getCapacity1() )){
+            return predecessors;
+        }
+
+        long[] packedPredecessors=new long[StateSpace.MAX_PREDECESSORS];
+        int nrPredecessors=stateSpace.getPredecessors( stateSpace.pack( state ),move.getCode(),packedPredecessors );
+        for(int i=0;i<nrPredecessors;++i){
+            predecessors.add( stateSpace.toState( packedPredecessors[i] ) );
+        }
+        return predecessors;
+    }
+
+    /**
+     * @return the greatest common divisor of a and b,0 if both are 0
+     */
+    public static long computeGCD(long a,long b){
         long r;
         while(b>0){
             r=a%b;
@@ -210,6 +237,13 @@ public class State {
 
     @Override
     public int hashCode() {
-        return Objects.hash( getCapacity0() , getCapacity1() , getN() , getM() , getK() );
+        //same as Objects.hash,but without boxing the capacities
+        int result=1;
+        result=31*result+Long.hashCode( capacity0 );
+        result=31*result+Long.hashCode( capacity1 );
+        result=31*result+Long.hashCode( n );
+        result=31*result+Long.hashCode( m );
+        result=31*result+Long.hashCode( k );
+        return result;
     }
 }
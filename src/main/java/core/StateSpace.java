@@ -0,0 +1,275 @@
+package core;
+
+import static java.lang.Math.min;
+
+/**
+ * The context of a search for a given problem instance(n,m,k)
+ * The max capacities and the target are kept only once here,while a state is just a long that packs the capacities of the 2 vases,
+ * so a search can go from a state to another without creating State objects(they are created only when the solution is returned)
+ *
+ * Every state that can be reached from the initial state has at least one vase that is either empty or full,
+ * because each FILL,EMPTY or POUR leaves one of the vases empty or full.
+ * So a state is packed as the "side" of the (n+1)x(m+1) grid on which it lies and the capacity of the other vase:
+ * side 0 - vase 0 is empty,side 1 - vase 0 is full,side 2 - vase 1 is empty,side 3 - vase 1 is full
+ * This works for any capacities smaller than 2^61,unlike packing both capacities as 2 halves of a long
+ */
+public class StateSpace {
+    private static final int SIDE_SHIFT=61;
+    private static final long VALUE_MASK=(1L<<SIDE_SHIFT)-1;
+
+    private static final int EMPTY0=0,FULL0=1,EMPTY1=2,FULL1=3;
+
+    //the max number of predecessors returned by getPredecessors for a state and a move
+    public static final int MAX_PREDECESSORS=8;
+
+    private final long n,m,k;
+
+    public StateSpace( long n , long m , long k ) {
+        if(n<0||m<0||n>VALUE_MASK||m>VALUE_MASK){
+            throw new IllegalArgumentException( "The capacities of the vases must be between 0 and "+VALUE_MASK );
+        }
+        this.n = n;
+        this.m = m;
+        this.k = k;
+    }
+
+    /**
+     * @param state a state of the instance
+     * @return the state space of the instance to which the given state belongs
+     */
+    public static StateSpace of( State state ) {
+        return new StateSpace( state.getN() , state.getM() , state.getK() );
+    }
+
+    /**
+     * Packs the given capacities into a long
+     * @param capacity0 the capacity of vase 0
+     * @param capacity1 the capacity of vase 1
+     * @return the packed state
+     * @throws IllegalArgumentException if none of the vases is empty or full(such a state can't be reached)
+     */
+    public long pack( long capacity0 , long capacity1 ) {
+        if(capacity0==0){
+            return ((long) EMPTY0<<SIDE_SHIFT)|capacity1;
+        }
+        if(capacity0==n){
+            return ((long) FULL0<<SIDE_SHIFT)|capacity1;
+        }
+        if(capacity1==0){
+            return ((long) EMPTY1<<SIDE_SHIFT)|capacity0;
+        }
+        if(capacity1==m){
+            return ((long) FULL1<<SIDE_SHIFT)|capacity0;
+        }
+        throw new IllegalArgumentException( "The state ("+capacity0+","+capacity1+") can't be reached from the initial state" );
+    }
+
+    public long pack( State state ) {
+        return pack( state.getCapacity0() , state.getCapacity1() );
+    }
+
+    public long getInitialState() {
+        return pack( 0 , 0 );
+    }
+
+    public long getCapacity0( long state ) {
+        return switch ((int) (state>>>SIDE_SHIFT)) {
+            case EMPTY0 -> 0;
+            case FULL0 -> n;
+            default -> state&VALUE_MASK;
+        };
+    }
+
+    public long getCapacity1( long state ) {
+        return switch ((int) (state>>>SIDE_SHIFT)) {
+            case EMPTY1 -> 0;
+            case FULL1 -> m;
+            default -> state&VALUE_MASK;
+        };
+    }
+
+    public boolean isFinal( long state ) {
+        return getCapacity0( state )==k||getCapacity1( state )==k;
+    }
+
+    /**
+     * Same as State.moveIsValid,but for a packed state
+     * @param state the packed state
+     * @param move the code of the move(see Move.getCode())
+     * @return true if the new state after applying the move is different,false otherwise
+     */
+    public boolean moveIsValid( long state , int move ) {
+        long c0=getCapacity0( state ),c1=getCapacity1( state );
+        return switch (move) {
+            case 0 -> c0!=0;
+            case 1 -> c1!=0;
+            case 2 -> c0!=n;
+            case 3 -> c1!=m;
+            case 4 -> min( c0 , m-c1 )!=0;
+            case 5 -> min( c1 , n-c0 )!=0;
+            default -> throw new IllegalArgumentException( "Unknown move code "+move );
+        };
+    }
+
+    /**
+     * Same as State.executeMove,but for a packed state,so nothing is allocated
+     * @param state the packed state
+     * @param move the code of the move(see Move.getCode())
+     * @return the packed state after the move is applied
+     */
+    public long executeMove( long state , int move ) {
+        long c0=getCapacity0( state ),c1=getCapacity1( state ),pouredWater;
+        switch (move) {
+            case 0:
+                return pack( 0 , c1 );
+            case 1:
+                return pack( c0 , 0 );
+            case 2:
+                return pack( n , c1 );
+            case 3:
+                return pack( c0 , m );
+            case 4:
+                pouredWater=min( c0 , m-c1 );
+                return pack( c0-pouredWater , c1+pouredWater );
+            case 5:
+                pouredWater=min( c1 , n-c0 );
+                return pack( c0+pouredWater , c1-pouredWater );
+            default:
+                throw new IllegalArgumentException( "Unknown move code "+move );
+        }
+    }
+
+    /**
+     * @return true if one of the vases is empty or full,so the state can be packed
+     */
+    public boolean isOnBoundary( long capacity0 , long capacity1 ) {
+        return capacity0==0||capacity0==n||capacity1==0||capacity1==m;
+    }
+
+    /**
+     * The inverse of executeMove:finds the states from which the given state is reached using the given move
+     * Only states with a vase empty or full are considered,since those are the only ones that can be reached from the initial state.
+     * Such a predecessor either shares a capacity with the state and has the other vase empty or full(FILL/EMPTY),
+     * or has the same total quantity of water with a vase empty or full(POUR),so there are at most MAX_PREDECESSORS candidates.
+     *
+     * For the 4 "corner" states(both vases empty or full) FILL/EMPTY can also come from any state on a whole side of the grid
+     * (e.g. FILL 0 gives (n,0) from every (x,0)),those are not returned.
+     * A shortest path from the initial state never needs them,because a corner is at most 2 moves away from the initial state
+     * and the candidates already contain the corner before it on such a path
+     * @param state the packed state
+     * @param move the code of the move
+     * @param predecessors receives the packed predecessors,should have at least MAX_PREDECESSORS elements
+     * @return the number of predecessors found
+     */
+    public int getPredecessors( long state , int move , long[] predecessors ) {
+        long c0=getCapacity0( state ),c1=getCapacity1( state ),sum=c0+c1;
+        int nrPredecessors=0;
+
+        for(int candidate=0;candidate<MAX_PREDECESSORS;++candidate){
+            long x,y;
+            switch (candidate) {
+                case 0 -> { x=0; y=c1; }
+                case 1 -> { x=n; y=c1; }
+                case 2 -> { x=c0; y=0; }
+                case 3 -> { x=c0; y=m; }
+                case 4 -> { x=0; y=sum; }
+                case 5 -> { x=sum; y=0; }
+                case 6 -> { x=n; y=sum-n; }
+                default -> { x=sum-m; y=m; }
+            }
+            if(x<0||x>n||y<0||y>m||( x==c0&&y==c1 )){
+                continue;
+            }
+
+            long predecessor=pack( x , y );
+            if(!moveIsValid( predecessor , move )||executeMove( predecessor , move )!=state){
+                continue;
+            }
+
+            //some candidates can be the same state(e.g. when sum==n)
+            boolean duplicate=false;
+            for(int i=0;i<nrPredecessors;++i){
+                duplicate|=predecessors[i]==predecessor;
+            }
+            if(!duplicate){
+                predecessors[nrPredecessors++]=predecessor;
+            }
+        }
+        return nrPredecessors;
+    }
+
+    /**
+     * The number of different states with a vase empty or full,which is 2(n+m) when both capacities are at least 1
+     * (the points on the border of the (n+1)x(m+1) grid)
+     */
+    public long getNrIndexes() {
+        long nrIndexes=m+1;
+        if(n>0){
+            nrIndexes+=m+1;
+        }
+        if(n>1){
+            nrIndexes+=m>0?2*( n-1 ):n-1;
+        }
+        return nrIndexes;
+    }
+
+    /**
+     * Maps a packed state to a dense index in [0,getNrIndexes()),so the states can be kept in arrays instead of hash tables:
+     * [0,m] for vase 0 empty,[m+1,2m+1] for vase 0 full,
+     * then vase 1 empty and vase 1 full for the capacities of vase 0 between 1 and n-1
+     * @param state the packed state
+     * @return the index of the state
+     */
+    public long indexOf( long state ) {
+        long c0=getCapacity0( state ),c1=getCapacity1( state );
+        if(c0==0){
+            return c1;
+        }
+        if(c0==n){
+            return m+1+c1;
+        }
+        if(c1==0){
+            return 2*m+1+c0;
+        }
+        return 2*m+n+c0;
+    }
+
+    /**
+     * The inverse of indexOf
+     * @param index an index in [0,getNrIndexes())
+     * @return the packed state with the given index
+     */
+    public long stateAt( long index ) {
+        if(index<=m){
+            return pack( 0 , index );
+        }
+        if(index<=2*m+1){
+            return pack( n , index-m-1 );
+        }
+        if(index<2*m+n+1){
+            return pack( index-2*m-1 , 0 );
+        }
+        return pack( index-2*m-n , m );
+    }
+
+    /**
+     * Creates the State object for a packed state,should be used only when the solution is returned
+     * @param state the packed state
+     * @return the state
+     */
+    public State toState( long state ) {
+        return new State( getCapacity0( state ) , getCapacity1( state ) , n , m , k );
+    }
+
+    public long getN() {
+        return n;
+    }
+
+    public long getM() {
+        return m;
+    }
+
+    public long getK() {
+        return k;
+    }
+}
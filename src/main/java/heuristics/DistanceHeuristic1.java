@@ -1,6 +1,8 @@
 package heuristics;
 
+import core.Move;
 import core.State;
+import core.StateSpace;
 
 /**
  * An admissible heuristic for distance...
@@ -14,35 +16,55 @@ public class DistanceHeuristic1 implements Heuristic {
      * If k is equal to the current capacities,then the distance is 0
      * If a FILL,EMPTY or POUR operation gives a final state,return 1(One-Step Look Ahead)
      * Else,the distance should be at least 2
-     * Thus,this heuristic should be admissible
+     * Thus,this heuristic should be admissible(and also consistent,since a move changes the value by at most 1)
      * @param state the current state
      * @return 0,1, or 2
      */
     @Override
     public double evaluate( State state ) {
-        long c0=state.getCapacity1(),c1=state.getCapacity1(),n=state.getN(),m=state.getM(),k=state.getK();
-        if(k==c0||k==c1){
+        if(state.isFinal()){
             return 0;
         }
 
-        if(k==0||k==n||k==m){
-            return 1;
+        //tries every move,instead of simulating the pour operation(which missed some final states)
+        for(int code=0;code<Move.NR_MOVES;++code){
+            var move=Move.fromCode( code );
+            if(State.moveIsValid( state,move )&&State.executeMove( state,move ).isFinal()){
+                return 1;
+            }
         }
 
-        //to make sure that we don't divide by 0
-        if(n<=0||m<=0){
-            return 1;
+        return 2;
+    }
+
+    /**
+     * Same as evaluate,but for a packed state,so no state is created
+     */
+    @Override
+    public int evaluateInt( StateSpace stateSpace , long state ) {
+        if(stateSpace.isFinal( state )){
+            return 0;
         }
 
-        //simulates the pour operation
-        long sum=c0+c1;
-        if(sum==k||sum%n==k||sum%m==k){
-            return 1;
+        for(int move=0;move<Move.NR_MOVES;++move){
+            if(stateSpace.moveIsValid( state,move )&&stateSpace.isFinal( stateSpace.executeMove( state,move ) )){
+                return 1;
+            }
         }
 
         return 2;
     }
 
+    @Override
+    public boolean isIntegral() {
+        return true;
+    }
+
+    @Override
+    public int getMaximumIntValue() {
+        return 2;
+    }
+
     @Override
     public double getMaximumValue() {
         return maxValue;
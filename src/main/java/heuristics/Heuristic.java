@@ -1,6 +1,7 @@
 package heuristics;
 
 import core.State;
+import core.StateSpace;
 
 /**
  * Is an estimate that says how further away we are from our target...the closer we are,the lower the cost given
@@ -11,4 +12,41 @@ public interface Heuristic {
     double evaluate( State state);
     double getMaximumValue();
     double getMinimumValue();
+
+    /**
+     * Same as evaluate,for a packed state(see StateSpace),used by A* on every state it adds to the priority queue
+     * By default the state is unpacked,a heuristic should override it if it can evaluate the packed state without creating a State
+     * @param stateSpace the state space of the instance
+     * @param state the packed state
+     * @return the estimated distance to a final state
+     */
+    default double evaluate( StateSpace stateSpace , long state ){
+        return evaluate( stateSpace.toState( state ) );
+    }
+
+    /**
+     * Integer version of evaluate for a packed state,used by A* when the heuristic isIntegral()
+     * By default evaluate is rounded up,which keeps the heuristic admissible since any distance is a whole number of moves
+     * @param stateSpace the state space of the instance
+     * @param state the packed state
+     * @return the estimated number of moves to a final state
+     */
+    default int evaluateInt( StateSpace stateSpace , long state ){
+        return (int) Math.min( Math.ceil( evaluate( stateSpace , state ) ) , Integer.MAX_VALUE );
+    }
+
+    /**
+     * @return true if the heuristic only gives whole numbers between 0 and getMaximumIntValue(),
+     * so A* can work with integer costs and a bucket queue
+     */
+    default boolean isIntegral(){
+        return false;
+    }
+
+    /**
+     * @return the biggest value returned by evaluateInt,if the heuristic isIntegral()
+     */
+    default int getMaximumIntValue(){
+        return Integer.MAX_VALUE;
+    }
 }
@@ -0,0 +1,159 @@
+package heuristics;
+
+import core.Move;
+import core.StateSpace;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The exact number of moves from each state with a vase empty or full to a final state of an instance(n,m,k),
+ * found with a single BFS backwards from the final states(see StateSpace.getPredecessors).
+ * The distances are kept in an int array indexed by the dense index of the states(see StateSpace.indexOf),
+ * so a table uses 4 bytes for each state and a lookup is O(1).
+ * The tables are cached(see of()),so the strategies for the same instance don't compute them again
+ */
+class PatternDatabase {
+    public static final int UNREACHABLE=-1;
+
+    //the tables are computed only for the instances with at most this many states
+    public static final long MAX_NR_INDEXES=1<<20;
+    //the max number of bytes of the cached tables
+    private static final long maxCacheBytes=64L<<20;
+
+    //the least recently used table is the first one
+    private static final LinkedHashMap<Long, PatternDatabase> cache=new LinkedHashMap<>( 16 , 0.75f , true );
+    private static long cacheBytes;
+
+    private final StateSpace stateSpace;
+    //for each index:the number of moves to a final state,or UNREACHABLE
+    private final int[] distances;
+
+    private PatternDatabase( long n , long m , long k ) {
+        stateSpace=new StateSpace( n , m , k );
+        distances=new int[(int) stateSpace.getNrIndexes()];
+        Arrays.fill( distances , UNREACHABLE );
+
+        bfs();
+    }
+
+    /**
+     * @return true if the table for the given instance isn't too big
+     */
+    public static boolean isSupported( long n , long m , long k ) {
+        return n>=0&&m>=0&&n+m<=MAX_NR_INDEXES/2&&k>=0&&k<MAX_NR_INDEXES;
+    }
+
+    /**
+     * Returns the table for the given instance,from the cache or computed if it's not there
+     * @throws IllegalArgumentException if the table is too big(see isSupported())
+     */
+    public static PatternDatabase of( long n , long m , long k ) {
+        if(!isSupported( n , m , k )){
+            throw new IllegalArgumentException( "The pattern database of ("+n+","+m+","+k+") is too big" );
+        }
+
+        //n,m and k are smaller than 2^20
+        Long key=n<<40|m<<20|k;
+        synchronized (cache) {
+            var table=cache.get( key );
+            if(table!=null){
+                return table;
+            }
+        }
+
+        //computed outside of the lock,2 strategies for the same instance can both compute it
+        var table=new PatternDatabase( n , m , k );
+        synchronized (cache) {
+            if(cache.put( key , table )==null){
+                cacheBytes+=table.getNrBytes();
+            }
+            var iterator=cache.entrySet().iterator();
+            while(cacheBytes>maxCacheBytes&&iterator.hasNext()){
+                Map.Entry<Long, PatternDatabase> entry=iterator.next();
+                if(entry.getValue()!=table){
+                    cacheBytes-=entry.getValue().getNrBytes();
+                    iterator.remove();
+                }
+            }
+        }
+        return table;
+    }
+
+    private long getNrBytes() {
+        return 4L*distances.length;
+    }
+
+    private void bfs() {
+        //the states in the order in which they are visited,starting with the final ones
+        int[] queue=new int[distances.length];
+        int head=0,tail=0;
+        for(int index=0;index<distances.length;++index){
+            if(stateSpace.isFinal( stateSpace.stateAt( index ) )){
+                distances[index]=0;
+                queue[tail++]=index;
+            }
+        }
+
+        long[] predecessors=new long[StateSpace.MAX_PREDECESSORS];
+        long n=stateSpace.getN(),m=stateSpace.getM();
+        while(head<tail){
+            int index=queue[head++];
+            int distance=distances[index]+1;
+            long state=stateSpace.stateAt( index );
+
+            for(int move=0;move<Move.NR_MOVES;++move){
+                int nrPredecessors=stateSpace.getPredecessors( state , move , predecessors );
+                for(int i=0;i<nrPredecessors;++i){
+                    tail=visit( predecessors[i] , distance , queue , tail );
+                }
+            }
+
+            //a corner(both vases empty or full) is reached with FILL/EMPTY from any state on the sides through it,
+            //which getPredecessors doesn't return
+            long c0=stateSpace.getCapacity0( state ),c1=stateSpace.getCapacity1( state );
+            if(( c0==0||c0==n )&&( c1==0||c1==m )){
+                for(long x=0;x<=n;++x){
+                    tail=visitIfReaches( stateSpace.pack( x , c1 ) , state , distance , queue , tail );
+                }
+                for(long y=0;y<=m;++y){
+                    tail=visitIfReaches( stateSpace.pack( c0 , y ) , state , distance , queue , tail );
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the predecessor to the queue if it wasn't visited
+     * @return the new tail of the queue
+     */
+    private int visit( long predecessor , int distance , int[] queue , int tail ) {
+        int index=(int) stateSpace.indexOf( predecessor );
+        if(distances[index]==UNREACHABLE){
+            distances[index]=distance;
+            queue[tail++]=index;
+        }
+        return tail;
+    }
+
+    /**
+     * Same as visit,for a state that is a predecessor only if one of its moves gives the given state
+     */
+    private int visitIfReaches( long candidate , long state , int distance , int[] queue , int tail ) {
+        for(int move=0;move<Move.NR_MOVES;++move){
+            if(stateSpace.moveIsValid( candidate , move )&&stateSpace.executeMove( candidate , move )==state){
+                return visit( candidate , distance , queue , tail );
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * @param state a packed state of the instance
+     * @return the number of moves of a shortest path to a final state,or UNREACHABLE if there is none
+     */
+    public int getDistance( long state ) {
+        return distances[(int) stateSpace.indexOf( state )];
+    }
+}
@@ -0,0 +1,77 @@
+package heuristics;
+
+import core.State;
+import core.StateSpace;
+
+/**
+ * An exact heuristic:the number of moves of a shortest path from the state to a final state,
+ * looked up in the PatternDatabase of the instance(computed once for each instance and cached).
+ * It's admissible and consistent,so A* only expands the states of the shortest paths,
+ * and a hill climber that takes the move with the lowest value goes straight to a final state.
+ * For the instances whose table would be too big(see PatternDatabase.isSupported),DistanceHeuristic1 is used instead.
+ *
+ * It isn't integral(see isIntegral()) because after an EMPTY or FILL the distance can grow by much more than 1,
+ * so A* would need a bucket for each possible distance
+ */
+public class PatternDatabaseHeuristic implements Heuristic {
+    private final double maxValue=1e9;
+    private final double minValue=0;
+
+    private final DistanceHeuristic1 fallback=new DistanceHeuristic1();
+
+    //the table of the last instance evaluated,so the cache isn't searched for every state
+    private StateSpace stateSpace;
+    private PatternDatabase patternDatabase;
+
+    /**
+     * @return the table of the instance,or null if it's too big
+     */
+    private PatternDatabase getPatternDatabase( long n , long m , long k ) {
+        if(stateSpace==null||stateSpace.getN()!=n||stateSpace.getM()!=m||stateSpace.getK()!=k){
+            stateSpace=new StateSpace( n , m , k );
+            patternDatabase=PatternDatabase.isSupported( n , m , k ) ? PatternDatabase.of( n , m , k ) : null;
+        }
+        return patternDatabase;
+    }
+
+    private double toValue( int distance ) {
+        return distance==PatternDatabase.UNREACHABLE ? maxValue : distance;
+    }
+
+    @Override
+    public double evaluate( State state ) {
+        var table=getPatternDatabase( state.getN() , state.getM() , state.getK() );
+        //only the states with a vase empty or full are in the table,the others can't be reached
+        if(table==null||!stateSpace.isOnBoundary( state.getCapacity0() , state.getCapacity1() )){
+            return fallback.evaluate( state );
+        }
+        return toValue( table.getDistance( stateSpace.pack( state.getCapacity0() , state.getCapacity1() ) ) );
+    }
+
+    /**
+     * Same as evaluate,but for a packed state,so no state is created
+     */
+    @Override
+    public double evaluate( StateSpace stateSpace , long state ) {
+        var table=getPatternDatabase( stateSpace.getN() , stateSpace.getM() , stateSpace.getK() );
+        if(table==null){
+            return fallback.evaluateInt( stateSpace , state );
+        }
+        return toValue( table.getDistance( state ) );
+    }
+
+    @Override
+    public int evaluateInt( StateSpace stateSpace , long state ) {
+        return (int) evaluate( stateSpace , state );
+    }
+
+    @Override
+    public double getMaximumValue() {
+        return maxValue;
+    }
+
+    @Override
+    public double getMinimumValue() {
+        return minValue;
+    }
+}
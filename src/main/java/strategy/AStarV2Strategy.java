@@ -3,7 +3,11 @@ package strategy;
 import core.Move;
 import core.MoveType;
 import core.State;
+import core.StateSpace;
 import heuristics.Heuristic;
+import structures.BucketQueue;
+import structures.IndexedMinHeap;
+import structures.StateStore;
 
 import java.util.*;
 
@@ -16,126 +20,138 @@ public class AStarV2Strategy extends AbstractStrategy{
     private List<Move> listMoves;
     private boolean foundSolution;
 
-    //used to choose the next state that has the smallest current cost in the queue
-    private PriorityQueue<Node> priorityQueue;
+    //the states are packed while searching,see StateSpace
+    private StateSpace stateSpace;
 
-    //for each state,keeps the previous state and the move to execute from that state to get the the current state
-    private Map<State,Direction> before;
-    //keeps the distance from the initial state form each state and the best cost associated to a state at a time
-    private Map<State,Double> distanceFromInitialState,currentCost;
-    //all visited/explored states
-    private Set<State> exploredStates;
+    //used to choose the next state that has the smallest current cost,the states are kept as their ids in the table of states
+    private IndexedMinHeap priorityQueue;
+    //used instead of the priority queue when the heuristic gives only small whole numbers,so all the costs are integers
+    private BucketQueue bucketQueue;
 
-    /**
-     * Useful for reconstructing the solution
-     */
-    static class Direction {
-        private final State previousState;
-        private final Move move;
+    //for each state,keeps the previous state,the move to execute from that state to get the the current state,
+    //the distance from the initial state and whether the state was explored
+    private StateStore states;
+    private int nrExploredStates;
 
-        public Direction( State previousState , Move move ) {
-            this.previousState = previousState;
-            this.move = move;
-        }
 
-        public State getPreviousState() {
-            return previousState;
-        }
+    public AStarV2Strategy( State initialState , Heuristic heuristic,int maxNrVisitedStates ) {
+        this.initialState = initialState;
+        this.heuristic = heuristic;
+        this.maxNrVisitedStates=maxNrVisitedStates;
 
-        public Move getMove() {
-            return move;
-        }
+        this.strategyName="A* V2";
     }
 
-    /**
-     * Used to associate a state to a given cost, so it can be used with a priority queue
-     */
-    static class Node implements Comparable<Node>{
-        private final State state;
-        private final Double cost;
-
-        public Node( State state , Double cost ) {
-            this.state = state;
-            this.cost = cost;
-        }
-
-        public State getState() {
-            return state;
-        }
+    private double computeCost( int id ){
+        statistics.addHeuristicEvaluations( 1 );
+        return states.getCost( id )+heuristic.evaluate( stateSpace,states.getState( id ) );
+    }
 
-        public Double getCost() {
-            return cost;
-        }
+    private void addUnexploredNeighbors(int currentId){
 
-        @Override
-        public boolean equals( Object o ) {
-            if (this == o) return true;
-            if (!( o instanceof Node node )) return false;
-            return getState().equals( node.getState() ) && getCost().equals( node.getCost() );
-        }
+        long currentState=states.getState( currentId );
+        //the distance from the initial state for the neighbors
+        int distance=states.getCost( currentId )+1;
+        statistics.addExpandedStates( 1 );
+        statistics.updateDepth( distance );
 
-        @Override
-        public int hashCode() {
-            return Objects.hash( getState() , getCost() );
-        }
+        for(int move=0;move<Move.NR_MOVES;++move){
+            //if it not a valid state,skip
+            if(!stateSpace.moveIsValid( currentState,move )){
+                continue;
+            }
 
-        @Override
-        public int compareTo( Node o ) {
-            double cost=this.getCost()-o.getCost();
-            return cost<0?-1:(cost>0?1:0);
+            statistics.addGeneratedStates( 1 );
+            long neighborState=stateSpace.executeMove( currentState,move );
+            int neighborId=states.find( neighborState );
+            if(neighborId==StateStore.NONE){
+                //if it's a new unexplored,add who is before him(useful to compute the solution) and the distance
+                neighborId=states.add( neighborState,currentId,move,distance );
+                priorityQueue.push( neighborId,computeCost( neighborId ) );
+            }
+            else if(!states.isClosed( neighborId )&&distance<states.getCost( neighborId )){
+                //still unexplored,but already added to the priority queue with a bigger cost
+                //replace with the lower cost in the priority queue
+                states.update( neighborId,currentId,move,distance );
+                priorityQueue.decreasePriority( neighborId,computeCost( neighborId ) );
+            }
+            else{
+                statistics.addDuplicateStates( 1 );
+            }
         }
+        statistics.updateFrontierSize( priorityQueue.size() );
     }
 
+    /**
+     * Same as addUnexploredNeighbors,but with integer costs and the bucket queue
+     * The bucket queue has no decrease-key,so when a lower cost is found the state is added again
+     * and the old entry is skipped because the state is already closed when it is extracted
+     */
+    private void addUnexploredNeighborsIntegral(int currentId){
 
-    public AStarV2Strategy( State initialState , Heuristic heuristic,int maxNrVisitedStates ) {
-        this.initialState = initialState;
-        this.heuristic = heuristic;
-        this.maxNrVisitedStates=maxNrVisitedStates;
-
-        this.strategyName="A* V2";
-    }
-
-    private void addUnexploredNeighbors(State currentState){
-
-//        System.out.println("\nExplore neighbors for "+currentState);
+        long currentState=states.getState( currentId );
+        int distance=states.getCost( currentId )+1;
+        statistics.addExpandedStates( 1 );
+        statistics.updateDepth( distance );
 
-        for(var move:listPossibleMoves){
-            //if it not a valid state,skip
-            if(!State.moveIsValid( currentState,move )){
+        for(int move=0;move<Move.NR_MOVES;++move){
+            if(!stateSpace.moveIsValid( currentState,move )){
                 continue;
             }
 
-            //if it's a new state,update the cost,distance and who is before this state
-            var neighborState=State.executeMove( currentState,move );
-            if(!exploredStates.contains( neighborState )){
+            statistics.addGeneratedStates( 1 );
+            long neighborState=stateSpace.executeMove( currentState,move );
+            int neighborId=states.find( neighborState );
+            if(neighborId==StateStore.NONE){
+                neighborId=states.add( neighborState,currentId,move,distance );
+                statistics.addHeuristicEvaluations( 1 );
+                bucketQueue.push( neighborId,distance+heuristic.evaluateInt( stateSpace,neighborState ) );
+            }
+            else if(!states.isClosed( neighborId )&&distance<states.getCost( neighborId )){
+                states.update( neighborId,currentId,move,distance );
+                statistics.addHeuristicEvaluations( 1 );
+                bucketQueue.push( neighborId,distance+heuristic.evaluateInt( stateSpace,neighborState ) );
+            }
+            else{
+                statistics.addDuplicateStates( 1 );
+            }
+        }
+        statistics.updateFrontierSize( bucketQueue.size() );
+    }
 
-//                System.out.println("Unexplored neighbor: "+neighborState);
+    /**
+     * A* with integer costs,used when the heuristic isIntegral()
+     * @param startId the id of the initial state
+     * @return the id of the final state found
+     */
+    private int executeIntegral(int startId){
+        int finalState=startId;
+        int bestCost=(int) Math.min( heuristic.getMaximumValue(),Integer.MAX_VALUE );
+        addUnexploredNeighborsIntegral( startId );
 
-                //compute the distance from the initial state
-                distanceFromInitialState.put( neighborState,distanceFromInitialState.get( currentState ) + 1 );
-                //add who is before him,useful to compute the solution
-                before.put( neighborState,new Direction( currentState,move ) );
+        while(!bucketQueue.isEmpty()){
+            //if the current cost is bigger to the best score,no point to continue
+            int currentCost=bucketQueue.peekPriority();
+            if(currentCost>bestCost||nrExploredStates>maxNrVisitedStates||shouldStop()){
+                break;
+            }
 
-                //compute cost
-                double cost=distanceFromInitialState.get( neighborState )+heuristic.evaluate( neighborState );
-                if(!currentCost.containsKey( neighborState )){
-                    //if it's a new unexplored
-                    currentCost.put( neighborState,cost );
-                    priorityQueue.add( new Node( neighborState, cost) );
-                }
-                else {
-                    //still unexplored,but already added to the priority queue
-
-                    double currentCost = this.currentCost.get( neighborState );
-                    //replace with the lower cost in the priority queue
-                    if (cost < currentCost) {
-                        this.currentCost.put( neighborState,cost );
-                        priorityQueue.remove( new Node( neighborState , currentCost ) );
-                        priorityQueue.add( new Node(neighborState,cost) );
-                    }
-                }
+            int state=bucketQueue.pop();
+            //an old entry of a state that was added again with a lower cost
+            if(states.isClosed( state )){
+                continue;
             }
+            states.close( state );
+            ++nrExploredStates;
+            if(stateSpace.isFinal( states.getState( state ) )){
+                foundSolution=true;
+                bestCost=currentCost;
+                finalState=state;
+            }
+
+            addUnexploredNeighborsIntegral( state );
         }
+        return finalState;
     }
 
     private void execute(){
@@ -145,37 +161,39 @@ public class AStarV2Strategy extends AbstractStrategy{
             return;
         }
 
-        before.put( initialState,null );
-        distanceFromInitialState.put( initialState,0D );
-        currentCost.put( initialState,0D );
-
-        State finalState=null;
-        double bestCost =heuristic.getMaximumValue();
-        addUnexploredNeighbors( initialState );
+        int startId=states.add( stateSpace.pack( initialState ),StateStore.NONE,StateStore.NO_MOVE,0 );
+        states.close( startId );
 
-        do{
-            var node=priorityQueue.poll();
-            assert node != null;
+        if(heuristic.isIntegral()){
+            int finalState=executeIntegral( startId );
+            if(foundSolution){
+                computeListMoves( finalState );
+            }
+            return;
+        }
 
-//            System.out.println("Current best node: "+node.getState()+" with cost "+node.getCost());
+        int finalState=startId;
+        double bestCost =heuristic.getMaximumValue();
+        addUnexploredNeighbors( startId );
 
+        while(!priorityQueue.isEmpty()){
             //if the current cost is bigger to the best score,no point to continue
-            var currentCost=node.getCost();
-            if(currentCost>bestCost||exploredStates.size()>maxNrVisitedStates){
+            var currentCost=priorityQueue.peekPriority();
+            if(currentCost>bestCost||nrExploredStates>maxNrVisitedStates||shouldStop()){
                 break;
             }
 
-            var state=node.getState();
-            exploredStates.add( state );
-            if(state.isFinal()){
+            var state=priorityQueue.pop();
+            states.close( state );
+            ++nrExploredStates;
+            if(stateSpace.isFinal( states.getState( state ) )){
                 foundSolution=true;
-                bestCost=this.currentCost.get( state );
+                bestCost=currentCost;
                 finalState=state;
             }
 
             addUnexploredNeighbors( state );
         }
-        while(!priorityQueue.isEmpty());
 
         if(foundSolution){
             computeListMoves( finalState );
@@ -183,23 +201,19 @@ public class AStarV2Strategy extends AbstractStrategy{
     }
 
     /**
-     * Computes the list of moves from the initial state to the given finalState using the previousNode map
-     * @param finalState the final state
+     * Computes the list of moves from the initial state to the given finalState using the table of states
+     * @param finalState the id of the final state
      */
-    private void computeListMoves(State finalState){
+    private void computeListMoves(int finalState){
         listMoves=new ArrayList<>();
-        Direction node;
 
         //while we are not at the initial state
-        while(!initialState.equals( finalState )){
-            //get previous state and move
-            node=before.get( finalState );
-
+        while(states.getParent( finalState )!=StateStore.NONE){
             //add move
-            listMoves.add( node.getMove() );
+            listMoves.add( Move.fromCode( states.getMove( finalState ) ) );
 
             //go to the previous state
-            finalState=node.getPreviousState();
+            finalState=states.getParent( finalState );
         }
         Collections.reverse( listMoves );
     }
@@ -210,14 +224,25 @@ public class AStarV2Strategy extends AbstractStrategy{
         setHasSolution( initialState );
 
         if(hasSolution){
-            priorityQueue=new PriorityQueue<>();
-            distanceFromInitialState=new HashMap<>();
-            before=new HashMap<>();
-            currentCost=new HashMap<>();
-            exploredStates=new HashSet<>();
+            stateSpace=StateSpace.of( initialState );
+            if(heuristic.isIntegral()){
+                //a neighbor costs at most 1+getMaximumIntValue() more than the current state
+                bucketQueue=new BucketQueue( heuristic.getMaximumIntValue()+1 );
+            }
+            else{
+                priorityQueue=new IndexedMinHeap();
+            }
+            //each explored state adds at most NR_MOVES states
+            states=StateStore.create( stateSpace , ( maxNrVisitedStates+2L )*Move.NR_MOVES );
+            nrExploredStates=0;
             listMoves=new ArrayList<>();
 
-            execute();
+            //the store can be a mapped file(see StateStore.create),it's released even if the search fails
+            try {
+                execute();
+            } finally {
+                states.release();
+            }
         }
     }
 
@@ -270,4 +295,9 @@ public class AStarV2Strategy extends AbstractStrategy{
         }
         return actions;
     }
+
+    @Override
+    public Iterable<Move> getMoves() {
+        return hasSolution && foundSolution ? listMoves : Collections.emptyList();
+    }
 }
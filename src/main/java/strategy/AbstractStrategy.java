@@ -1,7 +1,6 @@
 package strategy;
 
 import core.Move;
-import core.MoveType;
 import core.State;
 
 import java.util.ArrayList;
@@ -14,17 +13,64 @@ public abstract class AbstractStrategy implements Strategy {
 
     protected String strategyName;
 
+    protected final SearchStatistics statistics=new SearchStatistics();
+
+    //the clock is checked by shouldStop() only once in this many calls
+    private final static int pollMask=1023;
+
+    //set by another thread to stop the strategy
+    private volatile boolean cancelled;
+    private boolean hasDeadline;
+    private long deadline;
+    private int nrPolls;
+    private boolean stopped;
+
     static {
+        //the moves are added in the order of their codes,so listPossibleMoves.get(code) is Move.fromCode(code)
         listPossibleMoves = new ArrayList<>();
-        listPossibleMoves.add( new Move( MoveType.EMPTY,0 ) );
-        listPossibleMoves.add( new Move( MoveType.EMPTY,1 ) );
-        listPossibleMoves.add( new Move( MoveType.FILL,0 ) );
-        listPossibleMoves.add( new Move( MoveType.FILL,1 ) );
-        listPossibleMoves.add( new Move( MoveType.POUR,0 ) );
-        listPossibleMoves.add( new Move( MoveType.POUR,1 ) );
+        for ( int code = 0 ; code < Move.NR_MOVES ; ++code ) {
+            listPossibleMoves.add( Move.fromCode( code ) );
+        }
     }
 
     protected void setHasSolution( State state){
         hasSolution=state.hasSolution();
     }
+
+    @Override
+    public String getStrategyName() {
+        return strategyName;
+    }
+
+    @Override
+    public SearchStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public void cancel() {
+        cancelled=true;
+    }
+
+    @Override
+    public void setDeadline( long deadline ) {
+        this.deadline=deadline;
+        hasDeadline=true;
+    }
+
+    @Override
+    public boolean wasStopped() {
+        return stopped;
+    }
+
+    /**
+     * Should be called in the main loops of the strategy,which should end when it returns true
+     * @return true if the strategy was cancelled or its deadline passed,and it stays true after that
+     */
+    protected boolean shouldStop() {
+        if(!stopped){
+            stopped=cancelled||( hasDeadline&&( ++nrPolls&pollMask )==0&&System.nanoTime()-deadline>0 );
+        }
+        return stopped;
+    }
 }
@@ -0,0 +1,261 @@
+package strategy;
+
+import core.Move;
+import core.MoveType;
+import core.State;
+
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * Solves the problem without searching,using number theory
+ *
+ * A shortest solution can always be found by repeating the same 3 operations in one direction:
+ * fill the source vase when it's empty,pour from the source into the destination,empty the destination when it's full.
+ * Pouring this way from a (capacity a) into b (capacity b),k appears:
+ * - in b,right after a pour that empties a,after F fills with F*a = k (mod b)
+ * - in a,right after a pour that fills b for the j-th time,with j*b = a-k (mod a)
+ * The smallest F and j are found with the extended Euclidean algorithm,so the number of moves is computed in O(log max(n,m))
+ * for both directions,and the moves of the best direction are generated one by one without remembering any state
+ */
+public class AnalyticStrategy extends AbstractStrategy {
+
+    //only the first moves of a longer solution are turned into a list of states,so its last state isn't final
+    private final static long maxNrReturnedMoves=1000000;
+
+    private final State initialState;
+
+    private boolean foundSolution;
+    //the number of moves of the solution
+    private long nrMoves;
+    //the vase from which we pour(the other one is emptied)
+    private int sourceVase;
+
+    public AnalyticStrategy( State initialState ) {
+        this.initialState = initialState;
+        strategyName="Analytic";
+    }
+
+    /**
+     * The extended Euclidean algorithm
+     * @return {gcd(a,b),x,y} such that a*x+b*y=gcd(a,b)
+     */
+    private static long[] extendedGCD( long a , long b ) {
+        long x0=1,y0=0,x1=0,y1=1,q,t;
+        while(b!=0){
+            q=a/b;
+
+            t=a-q*b; a=b; b=t;
+            t=x0-q*x1; x0=x1; x1=t;
+            t=y0-q*y1; y0=y1; y1=t;
+        }
+        return new long[]{ a , x0 , y0 };
+    }
+
+    /**
+     * Finds the smallest x>=1 such that x*a = r (mod b)
+     * @return x,or -1 if there is no such x
+     */
+    private static long solveCongruence( long a , long r , long b ) {
+        long[] egcd=extendedGCD( a , b );
+        long gcd=egcd[0];
+        if(r%gcd!=0){
+            return -1;
+        }
+
+        //(a/gcd)*x = r/gcd (mod b/gcd) and the inverse of a/gcd is egcd[1]
+        BigInteger modulo=BigInteger.valueOf( b/gcd );
+        long x=BigInteger.valueOf( egcd[1] ).multiply( BigInteger.valueOf( r/gcd ) ).mod( modulo ).longValue();
+        return x==0?b/gcd:x;
+    }
+
+    /**
+     * Computes the number of moves needed to get k in one of the vases pouring from a vase with capacity a
+     * into a vase with capacity b,as described above
+     * @return the number of moves,or -1 if k can't be obtained this way
+     */
+    private static long computeNrMoves( long a , long b , long k ) {
+        long best=-1;
+
+        //k in b after F fills,after E empties of b:F fills,E empties and F+E pours
+        if(k<b){
+            long fills=solveCongruence( a , k , b );
+            if(fills!=-1){
+                long empties=BigInteger.valueOf( fills ).multiply( BigInteger.valueOf( a ) ).subtract( BigInteger.ONE )
+                        .divide( BigInteger.valueOf( b ) ).longValue();
+                best=2*fills+2*empties;
+            }
+        }
+
+        //k in a after b was filled j times:j-1 empties,j*b/a+1 fills and j+j*b/a pours
+        if(k<a){
+            long j=solveCongruence( b , a-k , a );
+            if(j!=-1){
+                long fills=BigInteger.valueOf( j ).multiply( BigInteger.valueOf( b ) ).divide( BigInteger.valueOf( a ) ).longValue();
+                long moves=2*fills+2*j;
+                if(best==-1||moves<best){
+                    best=moves;
+                }
+            }
+        }
+        return best;
+    }
+
+    private void execute() {
+        long n=initialState.getN(),m=initialState.getM(),k=initialState.getK();
+
+        foundSolution=true;
+        if(initialState.isFinal()){
+            nrMoves=0;
+            return;
+        }
+        if(k==n||k==m){
+            nrMoves=1;
+            sourceVase=k==n?0:1;
+            return;
+        }
+
+        //pour from vase 0 into vase 1 or from vase 1 into vase 0
+        long fromFirst=computeNrMoves( n , m , k ),fromSecond=computeNrMoves( m , n , k );
+        if(fromFirst==-1&&fromSecond==-1){
+            foundSolution=false;
+        }
+        else if(fromSecond==-1||( fromFirst!=-1&&fromFirst<=fromSecond )){
+            nrMoves=fromFirst;
+            sourceVase=0;
+        }
+        else{
+            nrMoves=fromSecond;
+            sourceVase=1;
+        }
+    }
+
+    /**
+     * Generates the moves of the solution one by one,by repeating:
+     * empty the destination if it's full,else fill the source if it's empty,else pour from the source into the destination
+     */
+    private class MoveIterator implements Iterator<Move> {
+        private final Move fill=new Move( MoveType.FILL , sourceVase );
+        private final Move pour=new Move( MoveType.POUR , sourceVase );
+        private final Move empty=new Move( MoveType.EMPTY , 1-sourceVase );
+
+        private State state=initialState;
+        private long nrGeneratedMoves;
+
+        @Override
+        public boolean hasNext() {
+            return nrGeneratedMoves<nrMoves;
+        }
+
+        @Override
+        public Move next() {
+            if(!hasNext()){
+                throw new NoSuchElementException();
+            }
+
+            long source=sourceVase==0?state.getCapacity0():state.getCapacity1();
+            long destination=sourceVase==0?state.getCapacity1():state.getCapacity0();
+            long destinationCapacity=sourceVase==0?state.getM():state.getN();
+
+            Move move;
+            if(destination==destinationCapacity&&destination!=0){
+                move=empty;
+            }
+            else if(source==0){
+                move=fill;
+            }
+            else{
+                move=pour;
+            }
+
+            state=State.executeMove( state , move );
+            ++nrGeneratedMoves;
+            return move;
+        }
+    }
+
+    @Override
+    public void start() {
+
+        setHasSolution( initialState );
+
+        if(hasSolution){
+            foundSolution=false;
+            execute();
+            if(foundSolution){
+                statistics.updateDepth( nrMoves );
+            }
+        }
+    }
+
+    public long getNrMoves() {
+        return nrMoves;
+    }
+
+    @Override
+    public void printSolution() {
+        System.out.println( "\n\n"+strategyName+"\nStarted from: " + initialState );
+        if(hasSolution) {
+            if (foundSolution) {
+                System.out.println( "The solution has " + nrMoves + " moves" );
+                if(nrMoves<=maxNrReturnedMoves) {
+                    var state = initialState.copy();
+                    for ( var moves = new MoveIterator() ; moves.hasNext() ; ) {
+                        var move = moves.next();
+                        state = State.executeMove( state , move );
+                        System.out.println( "\nAfter " + move + " we get the state:\n" + state );
+                    }
+                    System.out.println( "Is this state final? " + state.isFinal() );
+                }
+            }
+            else{
+                System.out.println(strategyName+" strategy was not able to find a solution");
+            }
+        }
+        else{
+            System.out.println("The initial state from which we started doesn't have a solution");
+        }
+    }
+
+    @Override
+    public List<Map<Move, State>> getSolution() {
+        List<Map<Move, State>> actions = new ArrayList<>();
+
+        System.out.println("\n\n" + strategyName + "\nStarted from: " + initialState);
+        Map<Move, State> initial = new HashMap<>();
+        initial.put(new Move(MoveType.EMPTY, 0 ), initialState);
+        actions.add(initial);
+
+        if (hasSolution) {
+            if (foundSolution) {
+
+                var state = initialState.copy();
+                var moves = new MoveIterator();
+                for (long i = 0; i < maxNrReturnedMoves && moves.hasNext(); ++i) {
+                    var move = moves.next();
+                    Map<Move, State> result = new HashMap<>();
+                    state = State.executeMove(state, move);
+                    result.put(move, state);
+                    actions.add(result);
+                }
+                if (nrMoves > maxNrReturnedMoves) {
+                    System.out.println(strategyName + " strategy found a solution with " + nrMoves + " moves,only the first " + maxNrReturnedMoves + " moves are returned");
+                }
+                System.out.println("Is this state final? " + state.isFinal());
+            } else {
+                System.out.println(strategyName+" strategy was not able to find a solution");
+            }
+        } else {
+            System.out.println("The initial state from which we started doesn't have a solution");
+        }
+        return actions;
+    }
+
+    /**
+     * The moves are generated while iterating,so even the solutions that are too long for getSolution can be replayed
+     */
+    @Override
+    public Iterable<Move> getMoves() {
+        return hasSolution && foundSolution ? MoveIterator::new : Collections.emptyList();
+    }
+}
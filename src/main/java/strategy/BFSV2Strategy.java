@@ -3,79 +3,80 @@ package strategy;
 import core.Move;
 import core.MoveType;
 import core.State;
+import core.StateSpace;
+import structures.StateStore;
 
 import java.util.*;
 
 public class BFSV2Strategy extends AbstractStrategy {
 
-    private final static int maxVisitedStates=50000;
+    private final int maxVisitedStates;
 
-    //Represents a "node" or more like a state and a move from that state,used to get the moves from a final state to the initial state
-    static class Node {
-        private final State previousState;
-        private final Move move;
-
-        public Node( State previousState , Move move ) {
-            this.previousState = previousState;
-            this.move = move;
-        }
-
-        public State getPreviousState() {
-            return previousState;
-        }
-
-        public Move getMove() {
-            return move;
-        }
-    }
-
-    //the queue
-    private Queue<State> queue;
-    //a map that associates for a state the previous state from where it comes and the moves from that previous state
-    private Map<State, Node> previousNode;
+    //for each visited state,the previous state from where it comes and the move from that previous state
+    //the states get their ids in the order in which they are visited,so the ids that weren't expanded yet are the queue
+    private StateStore visitedStates;
     private final State initialState;
+    //the states are packed while searching,see StateSpace
+    private StateSpace stateSpace;
 
     private boolean foundSolution;
     private List<Move> listMoves;
 
     public BFSV2Strategy( State initialState ) {
+        this( initialState , 500000 );
+    }
+
+    /**
+     * @param maxVisitedStates the search stops after visiting this many states,
+     *                         if they don't fit in the heap they are kept off-heap(see StateStore.create)
+     */
+    public BFSV2Strategy( State initialState , int maxVisitedStates ) {
         this.initialState = initialState;
+        this.maxVisitedStates = maxVisitedStates;
         strategyName="BFSV2";
     }
 
     void bfs(){
-        State finalState=null;
+        long startState=stateSpace.pack( initialState );
+        int finalState=visitedStates.add( startState , StateStore.NONE , StateStore.NO_MOVE , 0 );
 
-        if(initialState.isFinal()){
-            finalState=initialState;
+        if(stateSpace.isFinal( startState )){
             foundSolution=true;
         }
         else {
             boolean stop=false;
 
-            previousNode.put( initialState , new Node( null , null ) );
-            queue.add( initialState );
+            //the id of the first element in the queue
+            int head=0;
 
-            while (!queue.isEmpty() && !stop) {
+            while (head < visitedStates.size() && !stop) {
 
                 //extract and remove first element
-                State state = queue.poll();
+                int id = head++;
+                long state = visitedStates.getState( id );
 
-                if (state == null || previousNode.size() > maxVisitedStates) {
+                if (visitedStates.size() > maxVisitedStates || shouldStop()) {
                     stop=true;
                 } else {
-                    //see neighboring states and if a neighbor is new,add it to the map and queue
-                    for ( var move : listPossibleMoves ) {
-                        if (State.moveIsValid( state , move )) {
-                            State newState = State.executeMove( state , move );
-                            if (!previousNode.containsKey( newState )) {
-                                previousNode.put( newState , new Node( state , move ) );
-                                queue.add( newState );
+                    statistics.addExpandedStates( 1 );
+                    statistics.updateFrontierSize( visitedStates.size() - head );
+
+                    //see neighboring states and if a neighbor is new,add it to the table(and so to the queue)
+                    for ( int move = 0 ; move < Move.NR_MOVES ; ++move ) {
+                        if (stateSpace.moveIsValid( state , move )) {
+                            statistics.addGeneratedStates( 1 );
+                            long newState = stateSpace.executeMove( state , move );
+                            int newId = visitedStates.find( newState );
+                            if (newId == StateStore.NONE) {
+                                newId = visitedStates.add( newState , id , move , visitedStates.getCost( id ) + 1 );
+                                statistics.updateDepth( visitedStates.getCost( newId ) );
+                            } else {
+                                statistics.addDuplicateStates( 1 );
                             }
 
-                            if (newState.isFinal()) {
+                            if (stateSpace.isFinal( newState )) {
                                 foundSolution = stop = true;
-                                finalState = newState;
+                                finalState = newId;
                                 break;
                             }
                         }
@@ -84,30 +85,26 @@ public class BFSV2Strategy extends AbstractStrategy {
             }
         }
 
-        //if we found a final state,go backwards using previousNode to get the list of moves
+        //if we found a final state,go backwards using the visited states to get the list of moves
         if(foundSolution){
             computeListMoves( finalState );
         }
     }
 
     /**
-     * Computes the list of moves from the initial state to the given finalState using the previousNode map
-     * @param finalState the final state
+     * Computes the list of moves from the initial state to the given finalState using the visited states
+     * @param finalState the id of the final state
      */
-    private void computeListMoves(State finalState){
+    private void computeListMoves(int finalState){
         listMoves=new ArrayList<>();
-        Node node;
 
         //while we are not at the initial state
-        while(!initialState.equals( finalState )){
-            //get previous state and move
-            node=previousNode.get( finalState );
-
+        while(visitedStates.getParent( finalState )!=StateStore.NONE){
             //add move
-            listMoves.add( node.getMove() );
+            listMoves.add( Move.fromCode( visitedStates.getMove( finalState ) ) );
 
             //go to the previous state
-            finalState=node.getPreviousState();
+            finalState=visitedStates.getParent( finalState );
         }
         Collections.reverse( listMoves );
     }
@@ -123,11 +120,16 @@ public class BFSV2Strategy extends AbstractStrategy {
         if(hasSolution) {
 
             foundSolution = false;
-            previousNode = new HashMap<>();
-
-            queue = new LinkedList<>();
-
-            bfs();
+            stateSpace = StateSpace.of( initialState );
+            //a state is added for each move of the last state visited
+            visitedStates = StateStore.create( stateSpace , maxVisitedStates+Move.NR_MOVES );
+
+            //the store can be a mapped file(see StateStore.create),it's released even if the search fails
+            try {
+                bfs();
+            } finally {
+                visitedStates.release();
+            }
         }
     }
 
@@ -185,4 +187,9 @@ public class BFSV2Strategy extends AbstractStrategy {
         System.out.println(actions);
         return actions;
     }
+
+    @Override
+    public Iterable<Move> getMoves() {
+        return hasSolution && foundSolution ? listMoves : Collections.emptyList();
+    }
 }
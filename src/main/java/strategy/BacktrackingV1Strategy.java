@@ -1,7 +1,10 @@
 package strategy;
 
 import core.Move;
+import core.MovePruning;
 import core.State;
+import core.StateSpace;
+import structures.StateTable;
 
 import java.util.*;
 
@@ -11,16 +14,24 @@ import java.util.*;
 public class BacktrackingV1Strategy extends AbstractStrategy {
 
     //TODO:Better way to make bkt work without memorizing visited states?
-    private Set<State> setVisitedStates;
+    private StateTable setVisitedStates;
     private boolean foundSolution;
-    private boolean stop;
 
-    private final static long maxNrVisitedStates=50000;
+    //the visited states are kept in a StateTable(around 20 bytes each) and the path on an explicit stack,so millions of them fit
+    private final static long maxNrVisitedStates=2_000_000;
 
     //Moves used to get from the initial state to the final state
     private List<Move> listMoves;
 
     private final State initialState;
+    //the states are packed while searching,see StateSpace
+    private StateSpace stateSpace;
+
+    //the frames of the depth-first search:the states of the current path,the code of the next move to try from each of them
+    //and the moves between them,the arrays grow when the path gets longer than them
+    private long[] states;
+    private byte[] nextMoves;
+    private byte[] pathMoves;
 
     public BacktrackingV1Strategy( State startState){
         initialState=startState;
@@ -28,47 +39,82 @@ public class BacktrackingV1Strategy extends AbstractStrategy {
     }
 
     /**
-     * The backtracking function that takes a given state and goes to a new state based on the moves possible
-     * @param state the state
+     * The backtracking that goes from a state to the unvisited states reached by the moves possible,
+     * with an explicit stack instead of a recursive call for each state,so the depth isn't limited by the call stack
+     * @param startState the packed initial state
      */
-    private void bkt( State state){
-        if(state.isFinal()){
-            stop=true;
+    private void bkt( long startState ){
+        if(stateSpace.isFinal( startState )){
             foundSolution=true;
+            return;
         }
-        else if(setVisitedStates.size()>maxNrVisitedStates){
-            stop=true;
-        }
-        else if(!stop){
-            //we visited this state
-            setVisitedStates.add( state );
-
-            //for each possible move,see where it goes
-            for(var move: listPossibleMoves ){
-                if(State.moveIsValid( state,move )) {
 
-                    var newState = State.executeMove( state , move );
+        //we visited this state
+        setVisitedStates.add( startState , StateTable.NONE , StateTable.NO_MOVE , 0 );
+        states[0]=startState;
+        nextMoves[0]=0;
+        int depth=0;
+        statistics.addExpandedStates( 1 );
 
-                    //if it's an unvisited state,go to it
-                    if (!setVisitedStates.contains( newState )) {
-                        setVisitedStates.add( newState );
+        while(depth>=0){
+            if(setVisitedStates.size()>maxNrVisitedStates||shouldStop()){
+                return;
+            }
+            if(nextMoves[depth]==Move.NR_MOVES){
+                //every move of this state was tried,go back
+                --depth;
+                continue;
+            }
 
-                        listMoves.add( move );
+            long state=states[depth];
+            int move=nextMoves[depth]++;
+            int previousMove=depth==0 ? MovePruning.NO_MOVE : pathMoves[depth-1];
+            //for each possible move,see where it goes
+            if(!stateSpace.moveIsValid( state,move )||MovePruning.isPruned( previousMove , move )) {
+                continue;
+            }
+            statistics.addGeneratedStates( 1 );
 
-                        bkt( newState );
+            var newState = stateSpace.executeMove( state , move );
 
-                        //if we found a solution,stop
-                        if (stop) {
-                            break;
-                        }
+            //if it's an unvisited state,go to it
+            if (setVisitedStates.find( newState ) != StateTable.NONE) {
+                statistics.addDuplicateStates( 1 );
+                continue;
+            }
+            setVisitedStates.add( newState , StateTable.NONE , move , 0 );
 
-                        listMoves.remove( listMoves.size() - 1 );
-                    }
+            if(depth+1==states.length){
+                growStack();
+            }
+            pathMoves[depth]=(byte) move;
+            ++depth;
+
+            //if we found a solution,stop
+            if(stateSpace.isFinal( newState )){
+                foundSolution=true;
+                listMoves=new ArrayList<>( depth );
+                for ( int i = 0 ; i < depth ; ++i ) {
+                    listMoves.add( Move.fromCode( pathMoves[i] ) );
                 }
+                return;
             }
+
+            states[depth]=newState;
+            nextMoves[depth]=0;
+            statistics.addExpandedStates( 1 );
+            statistics.updateDepth( depth );
+            statistics.updateFrontierSize( depth );
         }
     }
 
+    private void growStack() {
+        int newLength=states.length*2;
+        states=Arrays.copyOf( states , newLength );
+        nextMoves=Arrays.copyOf( nextMoves , newLength );
+        pathMoves=Arrays.copyOf( pathMoves , newLength );
+    }
+
     /**
      * Start the backtracking by initializing the variables
      */
@@ -78,11 +124,15 @@ public class BacktrackingV1Strategy extends AbstractStrategy {
         setHasSolution( initialState );
 
         if(hasSolution){
-            setVisitedStates=new HashSet<>();
+            stateSpace=StateSpace.of( initialState );
+            setVisitedStates=new StateTable();
             listMoves=new ArrayList<>();
-            foundSolution=stop=false;
+            foundSolution=false;
+            states=new long[64];
+            nextMoves=new byte[64];
+            pathMoves=new byte[64];
 
-            bkt(initialState);
+            bkt( stateSpace.pack( initialState ) );
         }
     }
 
@@ -112,4 +162,9 @@ public class BacktrackingV1Strategy extends AbstractStrategy {
     public List<Map<Move, State>> getSolution() {
         return null;
     }
+
+    @Override
+    public Iterable<Move> getMoves() {
+        return hasSolution && foundSolution ? listMoves : Collections.emptyList();
+    }
 }
@@ -1,10 +1,13 @@
 package strategy;
 
 import core.Move;
+import core.MovePruning;
 import core.MoveType;
 import core.State;
+import core.StateSpace;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +26,9 @@ public class BacktrackingV2Strategy extends AbstractStrategy {
 
     private final int maxNrMoves;
 
+    //the states are packed while searching,see StateSpace
+    private StateSpace stateSpace;
+
     public BacktrackingV2Strategy(State initialState, int maxNrMoves) {
         this.initialState = initialState;
         this.maxNrMoves = maxNrMoves;
@@ -30,24 +36,35 @@ public class BacktrackingV2Strategy extends AbstractStrategy {
     }
 
 
-    private void bkt(State state, int movePosition) {
+    /**
+     * @param state the packed state
+     * @param movePosition the number of moves used to reach the state
+     * @param previousMove the code of the last of them,the moves made useless by it are skipped(see MovePruning)
+     */
+    private void bkt(long state, int movePosition, int previousMove) {
         //if the state is final
-        if (state.isFinal()) {
+        if (stateSpace.isFinal(state)) {
             foundSolution = true;
 
             //remove moves saved after final state
             while (listMoves.size() - 1 >= movePosition) {
                 listMoves.remove(listMoves.size() - 1);
             }
-        } else if (movePosition < maxNrMoves && !foundSolution) {
+        } else if (movePosition < maxNrMoves && !foundSolution && !shouldStop()) {
+            statistics.addExpandedStates(1);
+            //the recursion goes as deep as the number of moves,no states are remembered so there are no duplicates
+            statistics.updateDepth(movePosition + 1);
+            statistics.updateFrontierSize(movePosition + 1);
+
             //select the next moves from this state that are valid and add them to the list of moves
-            for (var move : listPossibleMoves) {
-                if (State.moveIsValid(state, move)) {
+            for (int move = 0; move < Move.NR_MOVES; ++move) {
+                if (stateSpace.moveIsValid(state, move) && !MovePruning.isPruned(previousMove, move)) {
+                    statistics.addGeneratedStates(1);
 
                     //set the current move
-                    listMoves.set(movePosition, move);
+                    listMoves.set(movePosition, Move.fromCode(move));
 
-                    bkt(State.executeMove(state, move), movePosition + 1);
+                    bkt(stateSpace.executeMove(state, move), movePosition + 1, move);
                 }
 
                 if (foundSolution) {
@@ -67,6 +84,7 @@ public class BacktrackingV2Strategy extends AbstractStrategy {
 
         if (hasSolution) {
 
+            stateSpace = StateSpace.of(initialState);
             listMoves = new ArrayList<>();
             for (int i = 0; i < maxNrMoves; ++i) {
                 listMoves.add(null);
@@ -74,7 +92,7 @@ public class BacktrackingV2Strategy extends AbstractStrategy {
 
             foundSolution = false;
 
-            bkt(initialState, 0);
+            bkt(stateSpace.pack(initialState), 0, MovePruning.NO_MOVE);
         }
     }
 
@@ -127,4 +145,9 @@ public class BacktrackingV2Strategy extends AbstractStrategy {
         }
         return actions;
     }
+
+    @Override
+    public Iterable<Move> getMoves() {
+        return hasSolution && foundSolution ? listMoves : Collections.emptyList();
+    }
 }
\ No newline at end of file
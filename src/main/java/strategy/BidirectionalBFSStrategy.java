@@ -0,0 +1,262 @@
+package strategy;
+
+import core.Move;
+import core.MoveType;
+import core.State;
+import core.StateSpace;
+import structures.StateTable;
+
+import java.util.*;
+
+/**
+ * BFS that searches at the same time forward from the initial state and backward from the final states,
+ * until the 2 searches meet in the middle.
+ * The backward search uses StateSpace.getPredecessors,so it only needs the final states that can be reached:
+ * (k,0),(k,m),(0,k) and (n,k)
+ */
+public class BidirectionalBFSStrategy extends AbstractStrategy {
+
+    private final static int maxVisitedStates=500000;
+
+    private final State initialState;
+    //the states are packed while searching,see StateSpace
+    private StateSpace stateSpace;
+
+    //for the forward search:the previous state and the move from it,the cost is the distance from the initial state
+    private StateTable forwardStates;
+    //for the backward search:the next state and the move to it,the cost is the distance to a final state
+    private StateTable backwardStates;
+
+    //the ids of the states on the current level of each search(forward/backward)
+    private int forwardLevelStart,forwardLevelEnd,backwardLevelStart,backwardLevelEnd;
+
+    //the best meeting point found so far,as ids in the 2 tables
+    private int bestForwardState,bestBackwardState,bestLength;
+
+    private boolean foundSolution;
+    private List<Move> listMoves;
+
+    public BidirectionalBFSStrategy( State initialState ) {
+        this.initialState = initialState;
+        strategyName="Bidirectional BFS";
+    }
+
+    /**
+     * Checks if a state reached by one of the searches was also reached by the other one and remembers the shortest path
+     */
+    private void meet( int forwardState , int backwardState ) {
+        int length=forwardStates.getCost( forwardState )+backwardStates.getCost( backwardState );
+        if(length<bestLength){
+            bestLength=length;
+            bestForwardState=forwardState;
+            bestBackwardState=backwardState;
+        }
+    }
+
+    /**
+     * Expands all the states on the current level of the forward search
+     */
+    private void expandForward() {
+        for ( int id = forwardLevelStart ; id < forwardLevelEnd ; ++id ) {
+            long state = forwardStates.getState( id );
+            statistics.addExpandedStates( 1 );
+            for ( int move = 0 ; move < Move.NR_MOVES ; ++move ) {
+                if (!stateSpace.moveIsValid( state , move )) {
+                    continue;
+                }
+                statistics.addGeneratedStates( 1 );
+                long newState = stateSpace.executeMove( state , move );
+                if (forwardStates.find( newState ) != StateTable.NONE) {
+                    statistics.addDuplicateStates( 1 );
+                } else {
+                    int newId = forwardStates.add( newState , id , move , forwardStates.getCost( id ) + 1 );
+
+                    int backwardId = backwardStates.find( newState );
+                    if (backwardId != StateTable.NONE) {
+                        meet( newId , backwardId );
+                    }
+                }
+            }
+        }
+        forwardLevelStart = forwardLevelEnd;
+        forwardLevelEnd = forwardStates.size();
+    }
+
+    /**
+     * Expands all the states on the current level of the backward search
+     */
+    private void expandBackward() {
+        long[] predecessors = new long[StateSpace.MAX_PREDECESSORS];
+        for ( int id = backwardLevelStart ; id < backwardLevelEnd ; ++id ) {
+            long state = backwardStates.getState( id );
+            statistics.addExpandedStates( 1 );
+            for ( int move = 0 ; move < Move.NR_MOVES ; ++move ) {
+                int nrPredecessors = stateSpace.getPredecessors( state , move , predecessors );
+                statistics.addGeneratedStates( nrPredecessors );
+                for ( int i = 0 ; i < nrPredecessors ; ++i ) {
+                    if (backwardStates.find( predecessors[i] ) != StateTable.NONE) {
+                        statistics.addDuplicateStates( 1 );
+                    } else {
+                        int newId = backwardStates.add( predecessors[i] , id , move , backwardStates.getCost( id ) + 1 );
+
+                        int forwardId = forwardStates.find( predecessors[i] );
+                        if (forwardId != StateTable.NONE) {
+                            meet( forwardId , newId );
+                        }
+                    }
+                }
+            }
+        }
+        backwardLevelStart = backwardLevelEnd;
+        backwardLevelEnd = backwardStates.size();
+    }
+
+    void bfs() {
+        long k = stateSpace.getK();
+
+        //the trivial cases,which would need every state with a vase empty or full as a final state
+        if (initialState.isFinal()) {
+            foundSolution = true;
+            return;
+        }
+        if (k == stateSpace.getN() || k == stateSpace.getM()) {
+            foundSolution = true;
+            listMoves.add( new Move( MoveType.FILL , k == stateSpace.getN() ? 0 : 1 ) );
+            return;
+        }
+
+        forwardStates.add( stateSpace.pack( initialState ) , StateTable.NONE , StateTable.NO_MOVE , 0 );
+        forwardLevelStart = 0;
+        forwardLevelEnd = forwardStates.size();
+
+        //all the final states that can be reached,since k isn't 0,n or m
+        long[][] finalStates = { { k , 0 } , { k , stateSpace.getM() } , { 0 , k } , { stateSpace.getN() , k } };
+        for ( var finalState : finalStates ) {
+            if (finalState[0] <= stateSpace.getN() && finalState[1] <= stateSpace.getM()) {
+                long state = stateSpace.pack( finalState[0] , finalState[1] );
+                if (backwardStates.find( state ) == StateTable.NONE) {
+                    backwardStates.add( state , StateTable.NONE , StateTable.NO_MOVE , 0 );
+                }
+            }
+        }
+        backwardLevelStart = 0;
+        backwardLevelEnd = backwardStates.size();
+
+        int forwardDepth = 0, backwardDepth = 0;
+        bestLength = Integer.MAX_VALUE;
+
+        //a path that wasn't found yet has more than forwardDepth+backwardDepth moves
+        while (bestLength > forwardDepth + backwardDepth
+                && forwardLevelStart < forwardLevelEnd && backwardLevelStart < backwardLevelEnd
+                && forwardStates.size() + backwardStates.size() <= maxVisitedStates && !shouldStop()) {
+
+            //expand the smaller level
+            if (forwardLevelEnd - forwardLevelStart <= backwardLevelEnd - backwardLevelStart) {
+                expandForward();
+                ++forwardDepth;
+            } else {
+                expandBackward();
+                ++backwardDepth;
+            }
+            statistics.updateFrontierSize( ( forwardLevelEnd - forwardLevelStart ) + ( backwardLevelEnd - backwardLevelStart ) );
+            statistics.updateDepth( forwardDepth + backwardDepth );
+        }
+
+        if (bestLength != Integer.MAX_VALUE) {
+            foundSolution = true;
+            computeListMoves();
+        }
+    }
+
+    /**
+     * Computes the list of moves from the initial state to the meeting point(using the forward search)
+     * and from the meeting point to the final state(using the backward search)
+     */
+    private void computeListMoves() {
+        for ( int id = bestForwardState ; forwardStates.getParent( id ) != StateTable.NONE ; id = forwardStates.getParent( id ) ) {
+            listMoves.add( Move.fromCode( forwardStates.getMove( id ) ) );
+        }
+        Collections.reverse( listMoves );
+
+        for ( int id = bestBackwardState ; backwardStates.getParent( id ) != StateTable.NONE ; id = backwardStates.getParent( id ) ) {
+            listMoves.add( Move.fromCode( backwardStates.getMove( id ) ) );
+        }
+    }
+
+    /**
+     * Start function to start/run the strategy
+     */
+    @Override
+    public void start() {
+
+        setHasSolution( initialState );
+
+        if (hasSolution) {
+
+            foundSolution = false;
+            stateSpace = StateSpace.of( initialState );
+            forwardStates = new StateTable();
+            backwardStates = new StateTable();
+            listMoves = new ArrayList<>();
+
+            bfs();
+        }
+    }
+
+    /**
+     * Print the solution found ,or an appropriate message if there is no solution found
+     */
+    @Override
+    public void printSolution() {
+        System.out.println( "\n\n" + strategyName + "\nStarted from: " + initialState );
+        if (hasSolution) {
+            if (foundSolution) {
+
+                var state = initialState.copy();
+                for ( var move : listMoves ) {
+                    state = State.executeMove( state , move );
+                    System.out.println( "\nAfter " + move + " we get the state:\n" + state );
+                }
+                System.out.println( "Is this state final? " + state.isFinal() );
+            } else {
+                System.out.println( strategyName + " was not able to find a solution after visiting more than " + maxVisitedStates + " states " );
+            }
+        } else {
+            System.out.println( "The initial state from which we started doesn't have a solution" );
+        }
+    }
+
+    @Override
+    public List<Map<Move, State>> getSolution() {
+        List<Map<Move, State>> actions = new ArrayList<>();
+
+        System.out.println( "\n\n" + strategyName + "\nStarted from: " + initialState );
+        Map<Move, State> initial = new HashMap<>();
+        initial.put( new Move( MoveType.EMPTY , 0 ) , initialState );
+        actions.add( initial );
+
+        if (hasSolution) {
+            if (foundSolution) {
+
+                var state = initialState.copy();
+                for ( var move : listMoves ) {
+                    Map<Move, State> result = new HashMap<>();
+                    state = State.executeMove( state , move );
+                    result.put( move , state );
+                    actions.add( result );
+                }
+                System.out.println( "Is this state final? " + state.isFinal() );
+            } else {
+                System.out.println( strategyName + " strategy was not able to find a solution after visiting more than " + maxVisitedStates + " states" );
+            }
+        } else {
+            System.out.println( "The initial state from which we started doesn't have a solution" );
+        }
+        return actions;
+    }
+
+    @Override
+    public Iterable<Move> getMoves() {
+        return hasSolution && foundSolution ? listMoves : Collections.emptyList();
+    }
+}
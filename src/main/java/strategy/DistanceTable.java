@@ -0,0 +1,190 @@
+package strategy;
+
+import core.Move;
+import core.StateSpace;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The shortest solutions for every k of a pair of vases(n,m),found with a single BFS from (0,0)
+ * The BFS visits every reachable state,so for each k it's enough to remember the first state visited with k in a vase
+ * and,for each state,the state and the move from which it was reached(by the dense index of the states,see StateSpace.indexOf).
+ * The states are visited in the same order as BFSV2,so a path is the same one BFSV2 finds.
+ * A table uses around 5 bytes for each state with a vase empty or full and 8 bytes for each k,
+ * the tables are cached(see of()) so the requests for the same vases only walk a path.
+ * The BFS is done for a strategy:it stops when the strategy should stop and its states are counted in the statistics of the strategy
+ */
+public class DistanceTable {
+    public static final int NONE=-1;
+
+    //the tables are computed only for the instances with at most this many states
+    public static final long MAX_NR_INDEXES=1<<20;
+    //the max number of bytes of the cached tables
+    private static final long maxCacheBytes=64L<<20;
+
+    private static final int NOT_VISITED=-2;
+
+    //the least recently used table is the first one
+    private static final LinkedHashMap<Long, DistanceTable> cache=new LinkedHashMap<>( 16 , 0.75f , true );
+    private static long cacheBytes;
+
+    private final StateSpace stateSpace;
+    //for each index:the index of the state from which it was reached(NONE for (0,0),NOT_VISITED if it can't be reached)
+    private final int[] parents;
+    //for each index:the code of the move used to reach it
+    private final byte[] moves;
+    //for each k:the index of the first state with k in a vase,or NONE if k can't be obtained
+    private final int[] targets;
+    //for each k:the number of moves to the first state with k in a vase
+    private final int[] distances;
+
+    private DistanceTable( long n , long m ) {
+        stateSpace=new StateSpace( n , m , 0 );
+        int nrIndexes=(int) stateSpace.getNrIndexes();
+        parents=new int[nrIndexes];
+        moves=new byte[nrIndexes];
+        targets=new int[(int) Math.max( n , m )+1];
+        distances=new int[targets.length];
+        Arrays.fill( parents , NOT_VISITED );
+        Arrays.fill( targets , NONE );
+    }
+
+    /**
+     * @return true if the table for the given vases isn't too big
+     */
+    public static boolean isSupported( long n , long m ) {
+        return n>=0&&m>=0&&n+m<=MAX_NR_INDEXES/2;
+    }
+
+    /**
+     * Returns the table for the given vases,from the cache or computed if it's not there
+     * @param strategy the strategy that needs the table,the BFS stops when it should stop(its deadline passed or it was cancelled)
+     * @return the table,or null if the BFS was stopped
+     * @throws IllegalArgumentException if the table is too big(see isSupported())
+     */
+    public static DistanceTable of( long n , long m , AbstractStrategy strategy ) {
+        if(!isSupported( n , m )){
+            throw new IllegalArgumentException( "The distance table of ("+n+","+m+") is too big" );
+        }
+
+        //n and m are smaller than 2^20
+        Long key=n<<32|m;
+        synchronized (cache) {
+            var table=cache.get( key );
+            if(table!=null){
+                return table;
+            }
+        }
+
+        //computed outside of the lock,2 requests for the same vases can both compute it
+        var table=new DistanceTable( n , m );
+        if(!table.bfs( strategy )){
+            //an incomplete table isn't cached
+            return null;
+        }
+        synchronized (cache) {
+            if(cache.put( key , table )==null){
+                cacheBytes+=table.getNrBytes();
+            }
+            var iterator=cache.entrySet().iterator();
+            while(cacheBytes>maxCacheBytes&&iterator.hasNext()){
+                Map.Entry<Long, DistanceTable> entry=iterator.next();
+                if(entry.getValue()!=table){
+                    cacheBytes-=entry.getValue().getNrBytes();
+                    iterator.remove();
+                }
+            }
+        }
+        return table;
+    }
+
+    private long getNrBytes() {
+        return 5L*parents.length+8L*targets.length;
+    }
+
+    /**
+     * @return false if the BFS was stopped before visiting every state
+     */
+    private boolean bfs( AbstractStrategy strategy ) {
+        var statistics=strategy.getStatistics();
+        //the states in the order in which they are visited
+        int[] queue=new int[parents.length];
+        int head=0,tail=0;
+        //the distance of each state in the queue
+        int[] queueDistances=new int[parents.length];
+
+        int start=(int) stateSpace.indexOf( stateSpace.getInitialState() );
+        parents[start]=NONE;
+        queue[tail++]=start;
+
+        while(head<tail){
+            if(strategy.shouldStop()){
+                return false;
+            }
+            statistics.addExpandedStates( 1 );
+            statistics.updateFrontierSize( tail-head );
+
+            int distance=queueDistances[head];
+            int index=queue[head++];
+            long state=stateSpace.stateAt( index );
+
+            //the first state with k in a vase is the closest one
+            int c0=(int) stateSpace.getCapacity0( state ),c1=(int) stateSpace.getCapacity1( state );
+            if(targets[c0]==NONE){
+                targets[c0]=index;
+                distances[c0]=distance;
+            }
+            if(targets[c1]==NONE){
+                targets[c1]=index;
+                distances[c1]=distance;
+            }
+
+            for(int move=0;move<Move.NR_MOVES;++move){
+                if(stateSpace.moveIsValid( state , move )){
+                    statistics.addGeneratedStates( 1 );
+                    int newIndex=(int) stateSpace.indexOf( stateSpace.executeMove( state , move ) );
+                    if(parents[newIndex]==NOT_VISITED){
+                        parents[newIndex]=index;
+                        moves[newIndex]=(byte) move;
+                        queueDistances[tail]=distance+1;
+                        queue[tail++]=newIndex;
+                        statistics.updateDepth( distance+1 );
+                    } else {
+                        statistics.addDuplicateStates( 1 );
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param k the quantity of water that should be in a vase
+     * @return the number of moves of the shortest solution,or -1 if k can't be obtained
+     */
+    public int getDistance( long k ) {
+        if(k<0||k>=targets.length||targets[(int) k]==NONE){
+            return -1;
+        }
+        return distances[(int) k];
+    }
+
+    /**
+     * @param k the quantity of water that should be in a vase
+     * @return the codes of the moves of the shortest solution,or null if k can't be obtained
+     */
+    public byte[] getMoves( long k ) {
+        int distance=getDistance( k );
+        if(distance==-1){
+            return null;
+        }
+
+        byte[] path=new byte[distance];
+        for(int index=targets[(int) k];parents[index]!=NONE;index=parents[index]){
+            path[--distance]=moves[index];
+        }
+        return path;
+    }
+}
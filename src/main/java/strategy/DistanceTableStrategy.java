@@ -0,0 +1,106 @@
+package strategy;
+
+import core.Move;
+import core.MoveType;
+import core.State;
+
+import java.util.*;
+
+/**
+ * BFS that answers using the DistanceTable of the vases,so the requests for the same vases and different k don't search again
+ * It finds the same solution as BFSV2,and can be used only if DistanceTable.isSupported(n,m)
+ */
+public class DistanceTableStrategy extends AbstractStrategy {
+
+    private final State initialState;
+
+    private boolean foundSolution;
+    private List<Move> listMoves;
+
+    public DistanceTableStrategy( State initialState ) {
+        this.initialState = initialState;
+        strategyName="BFS(distance table)";
+    }
+
+    /**
+     * Start function to start/run the strategy
+     */
+    @Override
+    public void start() {
+
+        setHasSolution( initialState );
+
+        if(hasSolution) {
+            listMoves = new ArrayList<>();
+
+            var table = DistanceTable.of( initialState.getN() , initialState.getM() , this );
+            //null if the BFS of the table was stopped
+            byte[] moves = table == null ? null : table.getMoves( initialState.getK() );
+            foundSolution = moves != null;
+            if (foundSolution) {
+                for ( byte move : moves ) {
+                    listMoves.add( Move.fromCode( move ) );
+                }
+                statistics.updateDepth( moves.length );
+            }
+        }
+    }
+
+    /**
+     * Print the solution found ,or an appropriate message if there is no solution found
+     */
+    @Override
+    public void printSolution() {
+        System.out.println( "\n\n"+strategyName+"\nStarted from: " + initialState );
+        if(hasSolution) {
+            if (foundSolution) {
+
+                var state = initialState.copy();
+                for ( var move : listMoves ) {
+                    state = State.executeMove( state , move );
+                    System.out.println( "\nAfter " + move + " we get the state:\n" + state );
+                }
+                System.out.println( "Is this state final? " + state.isFinal() );
+            } else {
+                System.out.println( strategyName + " was not able to find a solution" );
+            }
+        }
+        else{
+            System.out.println("The initial state from which we started doesn't have a solution");
+        }
+    }
+
+    @Override
+    public List<Map<Move, State>> getSolution() {
+        List<Map<Move, State>> actions = new ArrayList<>();
+
+        System.out.println("\n\n" + strategyName + "\nStarted from: " + initialState);
+        Map<Move, State> initial = new HashMap<>();
+        initial.put(new Move(MoveType.EMPTY, 0 ), initialState);
+        actions.add(initial);
+
+        if (hasSolution) {
+            if (foundSolution) {
+
+                var state = initialState.copy();
+                for (var move : listMoves) {
+                    Map<Move, State> result = new HashMap<>();
+                    state = State.executeMove(state, move);
+                    result.put(move, state);
+                    actions.add(result);
+                }
+                System.out.println("Is this state final? " + state.isFinal());
+            } else {
+                System.out.println(strategyName + " strategy was not able to find a solution");
+            }
+        } else {
+            System.out.println("The initial state from which we started doesn't have a solution");
+        }
+        return actions;
+    }
+
+    @Override
+    public Iterable<Move> getMoves() {
+        return hasSolution && foundSolution ? listMoves : Collections.emptyList();
+    }
+}
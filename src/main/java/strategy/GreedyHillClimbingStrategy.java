@@ -56,7 +56,7 @@ public class GreedyHillClimbingStrategy extends AbstractStrategy {
         List<Move> randomMoves=new ArrayList<>();
         Random random=new Random();
         State currentState=initialState;
-        for(int i=0;i<maxDepth;++i){
+        for(int i=0;i<maxDepth&&!shouldStop();++i){
             int moveIndex;
             do{
                 moveIndex=random.nextInt(listPossibleMoves.size());
@@ -83,7 +83,7 @@ public class GreedyHillClimbingStrategy extends AbstractStrategy {
         }
 
         //Start the iteration
-        for(int nrIteration=0;nrIteration<nrIterations&&!foundSolution;++nrIteration){
+        for(int nrIteration=0;nrIteration<nrIterations&&!foundSolution&&!shouldStop();++nrIteration){
 
             //Begin from a random state based on choosing some random moves from the initial state
             State state=initialState;
@@ -111,16 +111,20 @@ public class GreedyHillClimbingStrategy extends AbstractStrategy {
             //Start the improvements using the heuristic
             double bestScore,currentScore;
             bestScore=heuristic.evaluate( state );
+            statistics.addHeuristicEvaluations( 1 );
 
             int nrImprovements=0;
             do{
                 //choose the best move which gives the smallest score using the heuristic
                 Move bestMove=null;
                 currentScore=heuristic.getMaximumValue();
+                statistics.addExpandedStates( 1 );
                 for(var move:listPossibleMoves){
                     if(State.moveIsValid( state,move )) {
                         State newState = State.executeMove( state , move );
                         double newScore = heuristic.evaluate( newState );
+                        statistics.addGeneratedStates( 1 );
+                        statistics.addHeuristicEvaluations( 1 );
                         if (newScore < currentScore) {
                             currentScore = newScore;
                             bestMove = move;
@@ -139,6 +143,7 @@ public class GreedyHillClimbingStrategy extends AbstractStrategy {
                     bestScore=currentScore;
                     state=State.executeMove( state, bestMove );
                     listMoves.add( bestMove );
+                    statistics.updateDepth( listMoves.size() );
                 }
 
                 //if it's the minimum possible value,that should mean it's a final state
@@ -148,7 +153,7 @@ public class GreedyHillClimbingStrategy extends AbstractStrategy {
 
                 ++nrImprovements;
             }
-            while(bestScore>=currentScore&&nrImprovements<=maxNrImprovements);
+            while(bestScore>=currentScore&&nrImprovements<=maxNrImprovements&&!shouldStop());
 
             if(state.isFinal()){
                 foundSolution=true;
@@ -207,4 +212,9 @@ public class GreedyHillClimbingStrategy extends AbstractStrategy {
         }
         return actions;
     }
+
+    @Override
+    public Iterable<Move> getMoves() {
+        return hasSolution && foundSolution ? listMoves : Collections.emptyList();
+    }
 }
@@ -0,0 +1,220 @@
+package strategy;
+
+import core.Move;
+import core.MovePruning;
+import core.MoveType;
+import core.State;
+import core.StateSpace;
+import heuristics.Heuristic;
+import structures.TranspositionTable;
+
+import java.util.*;
+
+/**
+ * IDA*:depth-first searches that only follow the states with a cost(the number of moves from the initial state plus the heuristic)
+ * at most a bound,which starts from the heuristic of the initial state and grows to the smallest cost that went over it
+ * in the previous search.With an admissible heuristic the first solution found is a shortest one.
+ * Unlike A* no open or closed lists are kept,the memory is the path of the current search(on an explicit stack of primitive arrays)
+ * and an optional small TranspositionTable of recently seen states,so shortest solutions can be found for instances
+ * whose states don't fit in memory.
+ * The heuristic is used through evaluateInt,so a heuristic that isn't integral is rounded up(see Heuristic.evaluateInt)
+ */
+public class IDAStarStrategy extends AbstractStrategy {
+
+    //the default number of slots of the table of recently seen states(16 bytes each)
+    public final static int DEFAULT_CACHE_SIZE=1<<12;
+
+    private final State initialState;
+    private final Heuristic heuristic;
+    private final int maxNrMoves;
+    private final int cacheSize;
+
+    //the states are packed while searching,see StateSpace
+    private StateSpace stateSpace;
+    //null if there is no cache
+    private TranspositionTable recentStates;
+
+    private boolean foundSolution;
+    private List<Move> listMoves;
+
+    //the states of the current path,the code of the next move to try from each of them and the moves between them
+    private long[] states;
+    private byte[] nextMoves;
+    private byte[] pathMoves;
+
+    public IDAStarStrategy( State initialState , Heuristic heuristic , int maxNrMoves ) {
+        this( initialState , heuristic , maxNrMoves , DEFAULT_CACHE_SIZE );
+    }
+
+    /**
+     * @param maxNrMoves the max number of moves of the solution
+     * @param cacheSize the number of slots of the table of recently seen states,0 for no table
+     */
+    public IDAStarStrategy( State initialState , Heuristic heuristic , int maxNrMoves , int cacheSize ) {
+        this.initialState = initialState;
+        this.heuristic = heuristic;
+        this.maxNrMoves = maxNrMoves;
+        this.cacheSize = cacheSize;
+        strategyName="IDA*";
+    }
+
+    private int evaluate( long state ) {
+        statistics.addHeuristicEvaluations( 1 );
+        return heuristic.evaluateInt( stateSpace , state );
+    }
+
+    private void search() {
+        long startState=stateSpace.pack( initialState );
+        if(stateSpace.isFinal( startState )){
+            foundSolution=true;
+            return;
+        }
+
+        //a shortest path doesn't visit a state twice,and every state that can be reached has an index(see StateSpace.indexOf)
+        int maxDepth=(int) Math.min( maxNrMoves , stateSpace.getNrIndexes() );
+        int bound=evaluate( startState );
+        while(bound<=maxDepth&&!shouldStop()){
+            if(states.length<bound+1){
+                states=Arrays.copyOf( states , bound+1 );
+                nextMoves=Arrays.copyOf( nextMoves , bound+1 );
+                pathMoves=Arrays.copyOf( pathMoves , bound+1 );
+            }
+            if(recentStates!=null){
+                recentStates.startSearch();
+                recentStates.visit( startState , 0 );
+            }
+            //the smallest cost over the bound,the bound of the next search
+            int nextBound=Integer.MAX_VALUE;
+
+            states[0]=startState;
+            nextMoves[0]=0;
+            int depth=0;
+            statistics.addExpandedStates( 1 );
+            while(depth>=0&&!shouldStop()){
+                if(nextMoves[depth]==Move.NR_MOVES){
+                    //every move of this state was tried,go back
+                    --depth;
+                    continue;
+                }
+
+                long state=states[depth];
+                int move=nextMoves[depth]++;
+                int previousMove=depth==0 ? MovePruning.NO_MOVE : pathMoves[depth-1];
+                if(!stateSpace.moveIsValid( state , move )||MovePruning.isPruned( previousMove , move )){
+                    continue;
+                }
+
+                int newDepth=depth+1;
+                if(newDepth>maxDepth){
+                    continue;
+                }
+                statistics.addGeneratedStates( 1 );
+
+                long newState=stateSpace.executeMove( state , move );
+                pathMoves[depth]=(byte) move;
+
+                //every bound is at most the length of a shortest solution(the heuristic is admissible),
+                //so a solution within the bound is a shortest one.A longer one is only a candidate for the next bound,
+                //a shorter solution can still be found in this search when the heuristic is 0 on states that aren't final
+                if(stateSpace.isFinal( newState )&&newDepth<=bound){
+                    foundSolution=true;
+                    listMoves=new ArrayList<>( newDepth );
+                    for ( int i = 0 ; i < newDepth ; ++i ) {
+                        listMoves.add( Move.fromCode( pathMoves[i] ) );
+                    }
+                    return;
+                }
+
+                int cost=newDepth+evaluate( newState );
+                if(cost>bound){
+                    nextBound=Math.min( nextBound , cost );
+                } else if(recentStates!=null&&!recentStates.visit( newState , newDepth )){
+                    statistics.addDuplicateStates( 1 );
+                } else {
+                    states[newDepth]=newState;
+                    nextMoves[newDepth]=0;
+                    depth=newDepth;
+
+                    statistics.addExpandedStates( 1 );
+                    statistics.updateDepth( depth );
+                    statistics.updateFrontierSize( depth+1 );
+                }
+            }
+
+            //no state went over the bound,every state that can be reached was visited
+            if(nextBound==Integer.MAX_VALUE){
+                return;
+            }
+            bound=nextBound;
+        }
+    }
+
+    /**
+     * Start the search by initializing the variables
+     */
+    @Override
+    public void start() {
+
+        setHasSolution( initialState );
+
+        if(hasSolution){
+            stateSpace=StateSpace.of( initialState );
+            //the states that can be reached have an index,so a bigger table than 2 slots for each of them isn't needed
+            recentStates=cacheSize>0 ? new TranspositionTable( (int) Math.min( cacheSize , 2*stateSpace.getNrIndexes() ) ) : null;
+            states=new long[16];
+            nextMoves=new byte[16];
+            pathMoves=new byte[16];
+            listMoves=new ArrayList<>();
+            foundSolution=false;
+
+            search();
+        }
+    }
+
+    @Override
+    public void printSolution() {
+
+        System.out.println( "\n\n"+strategyName+"\nStarted from: " + initialState );
+        if(hasSolution) {
+            if (foundSolution) {
+
+                var state = initialState.copy();
+                for ( var move : listMoves ) {
+                    state = State.executeMove( state , move );
+                    System.out.println( "\nAfter " + move + " we get the state:\n" + state );
+                }
+                System.out.println( "Is this state final? " + state.isFinal() );
+            } else {
+                System.out.println( strategyName+" was not able to find a solution with at most " + maxNrMoves + " moves" );
+            }
+        }
+        else{
+            System.out.println("The initial state from which we started doesn't have a solution");
+        }
+    }
+
+    @Override
+    public List<Map<Move, State>> getSolution() {
+        List<Map<Move, State>> actions = new ArrayList<>();
+
+        Map<Move, State> initial = new HashMap<>();
+        initial.put( new Move( MoveType.EMPTY , 0 ) , initialState );
+        actions.add( initial );
+
+        if (hasSolution && foundSolution) {
+            var state = initialState.copy();
+            for ( var move : listMoves ) {
+                Map<Move, State> result = new HashMap<>();
+                state = State.executeMove( state , move );
+                result.put( move , state );
+                actions.add( result );
+            }
+        }
+        return actions;
+    }
+
+    @Override
+    public Iterable<Move> getMoves() {
+        return hasSolution && foundSolution ? listMoves : Collections.emptyList();
+    }
+}
@@ -0,0 +1,191 @@
+package strategy;
+
+import core.Move;
+import core.MovePruning;
+import core.MoveType;
+import core.State;
+import core.StateSpace;
+import structures.TranspositionTable;
+
+import java.util.*;
+
+/**
+ * Depth-first searches with a growing max number of moves(1,2,3,...),so the first solution found is a shortest one
+ * The path of the current search is kept on an explicit stack of primitive arrays,so the depth isn't limited by the call stack.
+ * A TranspositionTable remembers the smallest depth at which each state was reached,a state reached deeper than that
+ * or again at the same depth in the same search isn't searched again,so a search follows only the shortest paths
+ * and visits each state around once instead of once for each path to it.
+ * The moves made useless by the previous move of the path aren't tried(see MovePruning).
+ * The searches end when a solution is found,when the max number of moves is reached or when a search didn't reach
+ * its max depth(every state that can be reached was visited)
+ */
+public class IterativeDeepeningStrategy extends AbstractStrategy {
+
+    //the default number of slots of the transposition table(16 bytes each)
+    public final static int DEFAULT_TABLE_SIZE=1<<18;
+
+    private final State initialState;
+    private final int maxNrMoves;
+    private final int maxTableSize;
+
+    //the states are packed while searching,see StateSpace
+    private StateSpace stateSpace;
+    private TranspositionTable transpositionTable;
+
+    private boolean foundSolution;
+    private List<Move> listMoves;
+
+    public IterativeDeepeningStrategy( State initialState , int maxNrMoves ) {
+        this( initialState , maxNrMoves , DEFAULT_TABLE_SIZE );
+    }
+
+    /**
+     * @param maxNrMoves the max number of moves of the solution
+     * @param maxTableSize the max number of slots of the transposition table,smaller instances get a smaller table
+     */
+    public IterativeDeepeningStrategy( State initialState , int maxNrMoves , int maxTableSize ) {
+        this.initialState = initialState;
+        this.maxNrMoves = maxNrMoves;
+        this.maxTableSize = maxTableSize;
+        strategyName="IterativeDeepening";
+    }
+
+    private void search() {
+        long startState=stateSpace.pack( initialState );
+        if(stateSpace.isFinal( startState )){
+            foundSolution=true;
+            return;
+        }
+
+        //a shortest path doesn't visit a state twice,and every state that can be reached has an index(see StateSpace.indexOf)
+        int maxDepth=(int) Math.min( maxNrMoves , stateSpace.getNrIndexes() );
+        //the states of the current path,the code of the next move to try from each of them and the moves between them
+        long[] states=new long[maxDepth+1];
+        byte[] nextMoves=new byte[maxDepth+1];
+        byte[] pathMoves=new byte[maxDepth];
+
+        states[0]=startState;
+        for(int limit=1;limit<=maxDepth&&!shouldStop();++limit){
+            transpositionTable.startSearch();
+            transpositionTable.visit( startState , 0 );
+            //stays false if no state was left unexpanded because of the limit,then a bigger limit finds nothing new
+            boolean reachedLimit=false;
+
+            int depth=0;
+            nextMoves[0]=0;
+            statistics.addExpandedStates( 1 );
+            while(depth>=0&&!shouldStop()){
+                if(nextMoves[depth]==Move.NR_MOVES){
+                    //every move of this state was tried,go back
+                    --depth;
+                    continue;
+                }
+
+                long state=states[depth];
+                int move=nextMoves[depth]++;
+                int previousMove=depth==0 ? MovePruning.NO_MOVE : pathMoves[depth-1];
+                if(!stateSpace.moveIsValid( state , move )||MovePruning.isPruned( previousMove , move )){
+                    continue;
+                }
+                statistics.addGeneratedStates( 1 );
+
+                long newState=stateSpace.executeMove( state , move );
+                pathMoves[depth]=(byte) move;
+                int newDepth=depth+1;
+
+                if(stateSpace.isFinal( newState )){
+                    foundSolution=true;
+                    listMoves=new ArrayList<>( newDepth );
+                    for ( int i = 0 ; i < newDepth ; ++i ) {
+                        listMoves.add( Move.fromCode( pathMoves[i] ) );
+                    }
+                    return;
+                }
+
+                if(newDepth==limit){
+                    reachedLimit=true;
+                } else if(!transpositionTable.visit( newState , newDepth )){
+                    statistics.addDuplicateStates( 1 );
+                } else {
+                    states[newDepth]=newState;
+                    nextMoves[newDepth]=0;
+                    depth=newDepth;
+
+                    statistics.addExpandedStates( 1 );
+                    statistics.updateDepth( depth );
+                    statistics.updateFrontierSize( depth+1 );
+                }
+            }
+
+            if(!reachedLimit){
+                return;
+            }
+        }
+    }
+
+    /**
+     * Start the search by initializing the variables
+     */
+    @Override
+    public void start() {
+
+        setHasSolution( initialState );
+
+        if(hasSolution){
+            stateSpace=StateSpace.of( initialState );
+            //the states that can be reached have an index,so a bigger table than 2 slots for each of them isn't needed
+            transpositionTable=new TranspositionTable( (int) Math.min( maxTableSize , 2*stateSpace.getNrIndexes() ) );
+            listMoves=new ArrayList<>();
+            foundSolution=false;
+
+            search();
+        }
+    }
+
+    @Override
+    public void printSolution() {
+
+        System.out.println( "\n\n"+strategyName+"\nStarted from: " + initialState );
+        if(hasSolution) {
+            if (foundSolution) {
+
+                var state = initialState.copy();
+                for ( var move : listMoves ) {
+                    state = State.executeMove( state , move );
+                    System.out.println( "\nAfter " + move + " we get the state:\n" + state );
+                }
+                System.out.println( "Is this state final? " + state.isFinal() );
+            } else {
+                System.out.println( strategyName+" was not able to find a solution with at most " + maxNrMoves + " moves" );
+            }
+        }
+        else{
+            System.out.println("The initial state from which we started doesn't have a solution");
+        }
+    }
+
+    @Override
+    public List<Map<Move, State>> getSolution() {
+        List<Map<Move, State>> actions = new ArrayList<>();
+
+        Map<Move, State> initial = new HashMap<>();
+        initial.put( new Move( MoveType.EMPTY , 0 ) , initialState );
+        actions.add( initial );
+
+        if (hasSolution && foundSolution) {
+            var state = initialState.copy();
+            for ( var move : listMoves ) {
+                Map<Move, State> result = new HashMap<>();
+                state = State.executeMove( state , move );
+                result.put( move , state );
+                actions.add( result );
+            }
+        }
+        return actions;
+    }
+
+    @Override
+    public Iterable<Move> getMoves() {
+        return hasSolution && foundSolution ? listMoves : Collections.emptyList();
+    }
+}
@@ -0,0 +1,246 @@
+package strategy;
+
+import core.Move;
+import core.MoveType;
+import core.State;
+import core.StateSpace;
+import structures.ConcurrentStateTable;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * BFS that expands the states of a level in parallel(level-synchronous BFS),on a ForkJoinPool
+ * A frontier of more than minChunkSize states is split in chunks,each task expands its chunk and returns the new states
+ * it added to the shared ConcurrentStateTable,then the chunks are joined into the next frontier.
+ * A smaller frontier is expanded by a single task,so for the 2 vases,whose levels have only a few states
+ * (every state has at most 6 neighbors and most of them were already visited),the search runs on one thread
+ * and it's only useful for state spaces with wide levels.
+ * The solution doesn't depend on the order in which the threads run:the final state with the smallest packed value
+ * on the first level with final states is chosen,and each state keeps its smallest parent(see ConcurrentStateTable),
+ * so it has the same number of moves as BFSV2 and it's the same on every run
+ */
+public class ParallelBFSStrategy extends AbstractStrategy {
+
+    private final static int maxVisitedStates=500000;
+    //levels smaller than this are expanded by the current thread,splitting them would cost more than it saves
+    private final static int minChunkSize=1024;
+
+    private final State initialState;
+    private final ForkJoinPool pool;
+    //the states are packed while searching,see StateSpace
+    private StateSpace stateSpace;
+    private ConcurrentStateTable visitedStates;
+    private int nrVisitedStates;
+    //the max number of states that can be added to visitedStates
+    private long maxNrStates;
+    //the neighbors generated by the tasks on the current level,added to the statistics at the end of the level
+    private final LongAdder nrGeneratedStates=new LongAdder();
+
+    private boolean foundSolution;
+    private List<Move> listMoves;
+
+    public ParallelBFSStrategy( State initialState ) {
+        this( initialState , ForkJoinPool.commonPool() );
+    }
+
+    public ParallelBFSStrategy( State initialState , ForkJoinPool pool ) {
+        this.initialState = initialState;
+        this.pool = pool;
+        strategyName="Parallel BFS";
+    }
+
+    /**
+     * Expands the states frontier[start..end) and returns the new states,in no particular order
+     * The tasks are never serialized,so they don't have a serialVersionUID
+     */
+    @SuppressWarnings("serial")
+    private class ExpandTask extends RecursiveTask<long[]> {
+        private final long[] frontier;
+        private final int start,end,level;
+
+        ExpandTask( long[] frontier , int start , int end , int level ) {
+            this.frontier = frontier;
+            this.start = start;
+            this.end = end;
+            this.level = level;
+        }
+
+        @Override
+        protected long[] compute() {
+            if(end-start>minChunkSize){
+                int middle=( start+end )>>>1;
+                var left=new ExpandTask( frontier , start , middle , level );
+                left.fork();
+                long[] right=new ExpandTask( frontier , middle , end , level ).compute();
+                long[] result=left.join();
+
+                long[] newStates=Arrays.copyOf( result , result.length+right.length );
+                System.arraycopy( right , 0 , newStates , result.length , right.length );
+                return newStates;
+            }
+
+            long[] newStates=new long[( end-start )*Move.NR_MOVES];
+            int nrNewStates=0,nrGenerated=0;
+            for(int i=start;i<end;++i){
+                long state=frontier[i];
+                for(int move=0;move<Move.NR_MOVES;++move){
+                    if(stateSpace.moveIsValid( state , move )){
+                        ++nrGenerated;
+                        long newState=stateSpace.executeMove( state , move );
+                        if(visitedStates.add( newState , state , level )){
+                            newStates[nrNewStates++]=newState;
+                        }
+                    }
+                }
+            }
+            nrGeneratedStates.add( nrGenerated );
+            return Arrays.copyOf( newStates , nrNewStates );
+        }
+    }
+
+    void bfs() {
+        long startState=stateSpace.pack( initialState );
+        visitedStates.add( startState , ConcurrentStateTable.NONE , 0 );
+        nrVisitedStates=1;
+
+        if(stateSpace.isFinal( startState )){
+            foundSolution=true;
+            return;
+        }
+
+        long[] frontier={ startState };
+        for(int level=1;frontier.length>0;++level){
+            if(shouldStop()||nrVisitedStates>maxVisitedStates){
+                return;
+            }
+            //each state of the frontier can add at most NR_MOVES states,the table grows between the levels
+            visitedStates.grow( (int) Math.min( nrVisitedStates+(long) frontier.length*Move.NR_MOVES , maxNrStates ) );
+
+            var task=new ExpandTask( frontier , 0 , frontier.length , level );
+            statistics.addExpandedStates( frontier.length );
+            frontier=frontier.length>minChunkSize?pool.invoke( task ):task.compute();
+            nrVisitedStates+=frontier.length;
+
+            long nrGenerated=nrGeneratedStates.sumThenReset();
+            statistics.addGeneratedStates( nrGenerated );
+            statistics.addDuplicateStates( nrGenerated-frontier.length );
+            statistics.updateFrontierSize( frontier.length );
+            if(frontier.length>0){
+                statistics.updateDepth( level );
+            }
+
+            long finalState=Long.MAX_VALUE;
+            for(long state:frontier){
+                if(stateSpace.isFinal( state )&&state<finalState){
+                    finalState=state;
+                }
+            }
+            if(finalState!=Long.MAX_VALUE){
+                foundSolution=true;
+                computeListMoves( finalState );
+                return;
+            }
+        }
+    }
+
+    /**
+     * Computes the list of moves going back from the final state using the parents
+     * Between a state and its parent the move with the smallest code is used
+     */
+    private void computeListMoves( long finalState ) {
+        for(long state=finalState,parent=visitedStates.getParent( state );parent!=ConcurrentStateTable.NONE;
+            state=parent,parent=visitedStates.getParent( state )){
+
+            int move=0;
+            while(!stateSpace.moveIsValid( parent , move )||stateSpace.executeMove( parent , move )!=state){
+                ++move;
+            }
+            listMoves.add( Move.fromCode( move ) );
+        }
+        Collections.reverse( listMoves );
+    }
+
+    /**
+     * Start function to start/run the strategy
+     */
+    @Override
+    public void start() {
+
+        setHasSolution( initialState );
+
+        if(hasSolution) {
+
+            foundSolution = false;
+            stateSpace = StateSpace.of( initialState );
+            //only the states with a vase empty or full can be reached(see StateSpace.getNrIndexes)
+            long maxNrSearchedStates=maxVisitedStates+(long) maxVisitedStates*Move.NR_MOVES;
+            maxNrStates=Math.min( stateSpace.getNrIndexes() , maxNrSearchedStates );
+            //the table starts small and grows with the levels(see bfs())
+            visitedStates = new ConcurrentStateTable( (int) Math.min( maxNrStates , minChunkSize ) );
+            listMoves = new ArrayList<>();
+
+            bfs();
+        }
+    }
+
+    /**
+     * Print the solution found ,or an appropriate message if there is no solution found
+     */
+    @Override
+    public void printSolution() {
+        System.out.println( "\n\n"+strategyName+"\nStarted from: " + initialState );
+        if(hasSolution) {
+            if (foundSolution) {
+
+                var state = initialState.copy();
+                for ( var move : listMoves ) {
+                    state = State.executeMove( state , move );
+                    System.out.println( "\nAfter " + move + " we get the state:\n" + state );
+                }
+                System.out.println( "Is this state final? " + state.isFinal() );
+            } else {
+                System.out.println( strategyName + " was not able to find a solution after visiting more than " + maxVisitedStates + " states " );
+            }
+        }
+        else{
+            System.out.println("The initial state from which we started doesn't have a solution");
+        }
+    }
+
+    @Override
+    public List<Map<Move, State>> getSolution() {
+        List<Map<Move, State>> actions = new ArrayList<>();
+
+        System.out.println("\n\n" + strategyName + "\nStarted from: " + initialState);
+        Map<Move, State> initial = new HashMap<>();
+        initial.put(new Move(MoveType.EMPTY, 0 ), initialState);
+        actions.add(initial);
+
+        if (hasSolution) {
+            if (foundSolution) {
+
+                var state = initialState.copy();
+                for (var move : listMoves) {
+                    Map<Move, State> result = new HashMap<>();
+                    state = State.executeMove(state, move);
+                    result.put(move, state);
+                    actions.add(result);
+                }
+                System.out.println("Is this state final? " + state.isFinal());
+            } else {
+                System.out.println(strategyName + " strategy was not able to find a solution after visiting more than " + maxVisitedStates + " states");
+            }
+        } else {
+            System.out.println("The initial state from which we started doesn't have a solution");
+        }
+        return actions;
+    }
+
+    @Override
+    public Iterable<Move> getMoves() {
+        return hasSolution && foundSolution ? listMoves : Collections.emptyList();
+    }
+}
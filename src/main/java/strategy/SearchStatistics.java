@@ -0,0 +1,67 @@
+package strategy;
+
+/**
+ * Counters of what a strategy did while searching,filled by the strategy while it runs(see Strategy.getStatistics())
+ * They are plain fields,a strategy runs on a single thread(ParallelBFSStrategy adds the counts of its threads at the end of each level)
+ */
+public class SearchStatistics {
+    //the states whose neighbors were generated
+    private long nrExpandedStates;
+    //the neighbors generated,including the ones that were already visited
+    private long nrGeneratedStates;
+    //the generated neighbors that were already visited
+    private long nrDuplicateStates;
+    //the max size of the queue/open list/stack of the search
+    private long maxFrontierSize;
+    //the max number of moves from the initial state of a visited state
+    private long maxDepth;
+    private long nrHeuristicEvaluations;
+
+    public void addExpandedStates( long nrStates ) {
+        nrExpandedStates+=nrStates;
+    }
+
+    public void addGeneratedStates( long nrStates ) {
+        nrGeneratedStates+=nrStates;
+    }
+
+    public void addDuplicateStates( long nrStates ) {
+        nrDuplicateStates+=nrStates;
+    }
+
+    public void updateFrontierSize( long frontierSize ) {
+        maxFrontierSize=Math.max( maxFrontierSize , frontierSize );
+    }
+
+    public void updateDepth( long depth ) {
+        maxDepth=Math.max( maxDepth , depth );
+    }
+
+    public void addHeuristicEvaluations( long nrEvaluations ) {
+        nrHeuristicEvaluations+=nrEvaluations;
+    }
+
+    public long getNrExpandedStates() {
+        return nrExpandedStates;
+    }
+
+    public long getNrGeneratedStates() {
+        return nrGeneratedStates;
+    }
+
+    public long getNrDuplicateStates() {
+        return nrDuplicateStates;
+    }
+
+    public long getMaxFrontierSize() {
+        return maxFrontierSize;
+    }
+
+    public long getMaxDepth() {
+        return maxDepth;
+    }
+
+    public long getNrHeuristicEvaluations() {
+        return nrHeuristicEvaluations;
+    }
+}
@@ -6,6 +6,7 @@ import core.State;
 import heuristics.Heuristic;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -59,6 +60,7 @@ public class StochasticHillClimbingStrategy extends AbstractStrategy{
         for(int i=0;i<nrMoves;++i){
             //get the score
             score=heuristic.getMaximumValue()-heuristic.evaluate( State.executeMove( currentState,listChosenMoves.get( i ) ) );
+            statistics.addHeuristicEvaluations( 1 );
 
             sum+=score;
 
@@ -93,7 +95,7 @@ public class StochasticHillClimbingStrategy extends AbstractStrategy{
         }
 
         //Start the iteration
-        for(int nrIteration=0;nrIteration<nrIterations&&!foundSolution;++nrIteration){
+        for(int nrIteration=0;nrIteration<nrIterations&&!foundSolution&&!shouldStop();++nrIteration){
 
             int nrImprovements=0;
 
@@ -103,17 +105,20 @@ public class StochasticHillClimbingStrategy extends AbstractStrategy{
 
 //            System.out.println("\n\nIteration: "+nrIteration);
 
-            while(nrImprovements<maxNrImprovements){
+            while(nrImprovements<maxNrImprovements&&!shouldStop()){
 
                 List<Move> listGoodMoves=new ArrayList<>();
 
                 var currentScore=heuristic.evaluate( currentState );
+                statistics.addExpandedStates( 1 );
+                statistics.addHeuristicEvaluations( 1 );
 
                 for(var move:listPossibleMoves){
 
                     if(!State.moveIsValid( currentState,move )){
                         continue;
                     }
+                    statistics.addGeneratedStates( 1 );
 
                     //check to see if move leads to a final state
                     if(State.executeMove( currentState,move ).isFinal()){
@@ -124,6 +129,7 @@ public class StochasticHillClimbingStrategy extends AbstractStrategy{
                     }
 
                     //leads to an equal of better state,add it
+                    statistics.addHeuristicEvaluations( 1 );
                     if(heuristic.evaluate( State.executeMove( currentState,move ) )<=currentScore ){
                         listGoodMoves.add( move );
                     }
@@ -144,6 +150,7 @@ public class StochasticHillClimbingStrategy extends AbstractStrategy{
 
                 currentState=State.executeMove( currentState,nextMove );
                 listChosenMoves.add( nextMove );
+                statistics.updateDepth( listChosenMoves.size() );
 
 //                System.out.println("Next move = "+nextMove+",new state = "+currentState);
 
@@ -209,4 +216,9 @@ public class StochasticHillClimbingStrategy extends AbstractStrategy{
         }
         return actions;
     }
+
+    @Override
+    public Iterable<Move> getMoves() {
+        return hasSolution && foundSolution ? listMoves : Collections.emptyList();
+    }
 }
@@ -21,4 +21,34 @@ public interface Strategy {
     void printSolution();
 
     List<Map<Move, State>> getSolution();
+
+    /**
+     * The moves of the solution found,so the states can be computed by replaying them from the initial state
+     * without building the whole list returned by getSolution
+     * @return the moves from the initial state to the final state,or no moves if there is no solution found
+     */
+    Iterable<Move> getMoves();
+
+    String getStrategyName();
+
+    /**
+     * @return the counters of the search done by start()
+     */
+    SearchStatistics getStatistics();
+
+    /**
+     * Asks the strategy to stop,it can be called from another thread while start() runs
+     * The strategy stops as soon as it checks it,with the best solution found until then
+     */
+    void cancel();
+
+    /**
+     * @param deadline the value of System.nanoTime() after which the strategy stops,like after cancel()
+     */
+    void setDeadline(long deadline);
+
+    /**
+     * @return true if the strategy stopped before finishing because it was cancelled or its deadline passed
+     */
+    boolean wasStopped();
 }
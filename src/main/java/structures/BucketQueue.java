@@ -0,0 +1,75 @@
+package structures;
+
+import java.util.Arrays;
+
+/**
+ * A priority queue of ids for small integer priorities(Dial's algorithm),with O(1) push and pop
+ * There is a bucket(a stack of ids) for each priority,kept in a circular array:
+ * the priorities in the queue must always be between the smallest one and the smallest one+maxPriorityDifference.
+ * For A* with a heuristic bounded by h,a neighbor has a cost at most h+1 bigger than the current state,so h+1 is enough.
+ * There is no decrease-key,the id is pushed again with the smaller priority and the old entry should be skipped when it's popped
+ */
+public class BucketQueue {
+    private final int[][] buckets;
+    private final int[] bucketSizes;
+
+    //the smallest priority that can still be in the queue
+    private int minPriority;
+    private int size;
+
+    /**
+     * @param maxPriorityDifference the max difference between 2 priorities in the queue at the same time
+     */
+    public BucketQueue( int maxPriorityDifference ) {
+        buckets=new int[maxPriorityDifference+1][16];
+        bucketSizes=new int[maxPriorityDifference+1];
+    }
+
+    public boolean isEmpty() {
+        return size==0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param id the id to add
+     * @param priority the priority,if it's smaller than the current smallest priority it's added with the smallest priority
+     */
+    public void push( int id , int priority ) {
+        if(priority<minPriority){
+            priority=minPriority;
+        }
+        if(priority-minPriority>=buckets.length){
+            throw new IllegalArgumentException( "The priority "+priority+" is too far from the smallest priority "+minPriority );
+        }
+
+        int bucket=priority%buckets.length;
+        if(bucketSizes[bucket]==buckets[bucket].length){
+            buckets[bucket]=Arrays.copyOf( buckets[bucket] , bucketSizes[bucket]<<1 );
+        }
+        buckets[bucket][bucketSizes[bucket]++]=id;
+        ++size;
+    }
+
+    /**
+     * @return the smallest priority in the queue(the queue must not be empty)
+     */
+    public int peekPriority() {
+        while(bucketSizes[minPriority%buckets.length]==0){
+            ++minPriority;
+        }
+        return minPriority;
+    }
+
+    /**
+     * Removes an id with the smallest priority,the one added last if there are more
+     * @return the removed id
+     */
+    public int pop() {
+        int bucket=peekPriority()%buckets.length;
+        --size;
+        return buckets[bucket][--bucketSizes[bucket]];
+    }
+}
@@ -0,0 +1,151 @@
+package structures;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A hash table for packed states(see core.StateSpace) that can be filled by many threads at the same time,
+ * used by a search that expands a whole level of states in parallel
+ *
+ * It's open addressing with linear probing,like StateTable,but without locks:a thread claims an empty slot
+ * with a compare-and-set on the key,so exactly one thread adds each state.
+ * The parent of a state is also set with compare-and-set,always keeping the smallest parent found on the level
+ * on which the state was added,so the table is the same whatever the order in which the threads run.
+ * The table doesn't grow while states are added,grow() should be called between the levels so a level fits(see getMaxSize())
+ */
+public class ConcurrentStateTable {
+    //returned when a state is not in the table,also used as the parent of the initial state
+    public static final long NONE=-1;
+
+    private static final float MAX_LOAD_FACTOR=0.75f;
+
+    private AtomicLongArray keys;
+    private AtomicLongArray parents;
+    //the level of each state+1,0 while the thread that claimed the slot didn't set it yet
+    private AtomicIntegerArray levels;
+    private int mask;
+
+    /**
+     * @param maxSize the max number of states that will be added before the table is grown(see grow())
+     */
+    public ConcurrentStateTable( int maxSize ) {
+        allocate( maxSize );
+    }
+
+    private void allocate( int maxSize ) {
+        int nrSlots=Integer.highestOneBit( (int) Math.min( (long) ( Math.max( 16 , maxSize )/MAX_LOAD_FACTOR ) , 1<<29 ) )<<1;
+        keys=new AtomicLongArray( nrSlots );
+        parents=new AtomicLongArray( nrSlots );
+        levels=new AtomicIntegerArray( nrSlots );
+        mask=nrSlots-1;
+        for(int slot=0;slot<nrSlots;++slot){
+            keys.setPlain( slot , NONE );
+        }
+    }
+
+    /**
+     * Makes the table bigger if it can't hold the given number of states,keeping the states,their parents and levels
+     * Must not be called while states are added(between the levels)
+     * @param maxSize the max number of states that will be added
+     */
+    public void grow( int maxSize ) {
+        if(maxSize<=getMaxSize()){
+            return;
+        }
+
+        var oldKeys=keys;
+        var oldParents=parents;
+        var oldLevels=levels;
+        allocate( maxSize );
+        for(int oldSlot=0;oldSlot<oldKeys.length();++oldSlot){
+            long state=oldKeys.getPlain( oldSlot );
+            if(state==NONE){
+                continue;
+            }
+            int slot=hash( state )&mask;
+            while(keys.getPlain( slot )!=NONE){
+                slot=( slot+1 )&mask;
+            }
+            keys.setPlain( slot , state );
+            parents.setPlain( slot , oldParents.getPlain( oldSlot ) );
+            levels.setPlain( slot , oldLevels.getPlain( oldSlot ) );
+        }
+    }
+
+    private static int hash( long state ) {
+        state*=0x9E3779B97F4A7C15L;
+        return (int) (state^( state>>>32 ));
+    }
+
+    /**
+     * Adds a state reached on the given level,or if it was already added on the same level keeps the smallest parent
+     * Must not be called for states of different levels at the same time(the levels are expanded one after the other)
+     * @param state the packed state
+     * @param parent the packed state from which it's reached(NONE for the initial state)
+     * @param level the number of moves from the initial state
+     * @return true if the state was added by this call,false if it was already in the table
+     */
+    public boolean add( long state , long parent , int level ) {
+        for(int slot=hash( state )&mask;;slot=( slot+1 )&mask){
+            long key=keys.get( slot );
+            if(key==NONE){
+                if(!keys.compareAndSet( slot , NONE , state )){
+                    //another thread took the slot,check it again
+                    slot=( slot-1 )&mask;
+                    continue;
+                }
+                minParent( slot , parent );
+                levels.set( slot , level+1 );
+                return true;
+            }
+            if(key==state){
+                //a state added on a previous level has its level set,since the previous levels were finished before this one
+                int stateLevel=levels.get( slot );
+                if(stateLevel==0||stateLevel==level+1){
+                    minParent( slot , parent );
+                }
+                return false;
+            }
+        }
+    }
+
+    /**
+     * The parents start as 0,which is also a valid packed state,so they are kept as parent+1 and 0 means no parent yet
+     */
+    private void minParent( int slot , long parent ) {
+        long value=parent+1;
+        for(long current=parents.get( slot );current==0||value<current;current=parents.get( slot )){
+            if(parents.compareAndSet( slot , current , value )){
+                return;
+            }
+        }
+    }
+
+    private int findSlot( long state ) {
+        for(int slot=hash( state )&mask;;slot=( slot+1 )&mask){
+            long key=keys.get( slot );
+            if(key==NONE||key==state){
+                return key==NONE?-1:slot;
+            }
+        }
+    }
+
+    public boolean contains( long state ) {
+        return findSlot( state )!=-1;
+    }
+
+    /**
+     * @param state a packed state that is in the table
+     * @return the smallest packed state on the previous level from which it's reached,or NONE for the initial state
+     */
+    public long getParent( long state ) {
+        return parents.get( findSlot( state ) )-1;
+    }
+
+    /**
+     * @return the max number of states that can be added
+     */
+    public int getMaxSize() {
+        return (int) ( ( mask+1 )*MAX_LOAD_FACTOR );
+    }
+}
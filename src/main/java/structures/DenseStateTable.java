@@ -0,0 +1,114 @@
+package structures;
+
+import core.StateSpace;
+
+import java.util.Arrays;
+
+/**
+ * A StateStore that finds the states by their dense index(see StateSpace.indexOf) instead of hashing them:
+ * the id of each state is kept in an array with an element for each state with a vase empty or full,
+ * so a lookup is a single array access and the memory is known before the search starts(4 bytes per index,
+ * plus around 17 bytes per visited state)
+ * It should be used only when StateSpace.getNrIndexes() is small enough for such an array(see StateStore.create)
+ */
+public class DenseStateTable implements StateStore {
+    private static final int MOVE_MASK=7;
+    private static final int CLOSED_FLAG=8;
+
+    private final StateSpace stateSpace;
+
+    //for each index the id of the state,or NONE if the state wasn't added
+    private final int[] ids;
+
+    //indexed by the id of a state
+    private long[] states;
+    private int[] parents;
+    private byte[] moves;
+    private int[] costs;
+
+    private int size;
+
+    public DenseStateTable( StateSpace stateSpace ) {
+        long nrIndexes=stateSpace.getNrIndexes();
+        if(nrIndexes>Integer.MAX_VALUE){
+            throw new IllegalArgumentException( "The instance has "+nrIndexes+" states,too many for a DenseStateTable" );
+        }
+        this.stateSpace=stateSpace;
+        ids=new int[(int) nrIndexes];
+        Arrays.fill( ids , NONE );
+
+        int capacity=(int) Math.min( nrIndexes , 1024 );
+        states=new long[capacity];
+        parents=new int[capacity];
+        moves=new byte[capacity];
+        costs=new int[capacity];
+    }
+
+    @Override
+    public int find( long state ) {
+        return ids[(int) stateSpace.indexOf( state )];
+    }
+
+    @Override
+    public int add( long state , int parent , int move , int cost ) {
+        if(size==states.length){
+            //there can't be more states than indexes
+            int capacity=(int) Math.min( (long) states.length+( states.length>>1 )+1 , ids.length );
+            states=Arrays.copyOf( states , capacity );
+            parents=Arrays.copyOf( parents , capacity );
+            moves=Arrays.copyOf( moves , capacity );
+            costs=Arrays.copyOf( costs , capacity );
+        }
+
+        int id=size++;
+        states[id]=state;
+        parents[id]=parent;
+        moves[id]=(byte) move;
+        costs[id]=cost;
+
+        ids[(int) stateSpace.indexOf( state )]=id;
+        return id;
+    }
+
+    @Override
+    public void update( int id , int parent , int move , int cost ) {
+        parents[id]=parent;
+        moves[id]=(byte) ( ( moves[id]&~MOVE_MASK )|move );
+        costs[id]=cost;
+    }
+
+    @Override
+    public long getState( int id ) {
+        return states[id];
+    }
+
+    @Override
+    public int getParent( int id ) {
+        return parents[id];
+    }
+
+    @Override
+    public int getMove( int id ) {
+        return moves[id]&MOVE_MASK;
+    }
+
+    @Override
+    public int getCost( int id ) {
+        return costs[id];
+    }
+
+    @Override
+    public boolean isClosed( int id ) {
+        return ( moves[id]&CLOSED_FLAG )!=0;
+    }
+
+    @Override
+    public void close( int id ) {
+        moves[id]|=CLOSED_FLAG;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,143 @@
+package structures;
+
+import java.util.Arrays;
+
+/**
+ * A binary min-heap of ids(e.g. the ids of the states in a StateTable) with a priority for each id
+ * It also keeps the position of each id in the heap,so the priority of an id can be decreased in O(log n)
+ * instead of removing it with a linear search like java.util.PriorityQueue does.
+ * Nothing is allocated for a push,everything is kept in primitive arrays
+ */
+public class IndexedMinHeap {
+    private static final int NOT_IN_HEAP=-1;
+
+    //the ids and their priorities,in heap order
+    private int[] ids;
+    private double[] priorities;
+    private int size;
+
+    //for each id,its position in the heap or NOT_IN_HEAP
+    private int[] positions;
+
+    public IndexedMinHeap() {
+        this( 1024 );
+    }
+
+    public IndexedMinHeap( int initialCapacity ) {
+        int capacity=Math.max( 16 , initialCapacity );
+        ids=new int[capacity];
+        priorities=new double[capacity];
+        positions=new int[capacity];
+        Arrays.fill( positions , NOT_IN_HEAP );
+    }
+
+    public boolean isEmpty() {
+        return size==0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains( int id ) {
+        return id<positions.length&&positions[id]!=NOT_IN_HEAP;
+    }
+
+    /**
+     * Adds an id that is not in the heap
+     */
+    public void push( int id , double priority ) {
+        if(size==ids.length){
+            ids=Arrays.copyOf( ids , size<<1 );
+            priorities=Arrays.copyOf( priorities , size<<1 );
+        }
+        if(id>=positions.length){
+            int oldLength=positions.length;
+            positions=Arrays.copyOf( positions , Math.max( id+1 , oldLength<<1 ) );
+            Arrays.fill( positions , oldLength , positions.length , NOT_IN_HEAP );
+        }
+
+        ids[size]=id;
+        priorities[size]=priority;
+        positions[id]=size;
+        siftUp( size++ );
+    }
+
+    /**
+     * Changes the priority of an id that is in the heap to a smaller one
+     */
+    public void decreasePriority( int id , double priority ) {
+        int position=positions[id];
+        priorities[position]=priority;
+        siftUp( position );
+    }
+
+    /**
+     * @return the smallest priority in the heap
+     */
+    public double peekPriority() {
+        return priorities[0];
+    }
+
+    /**
+     * Removes the id with the smallest priority
+     * @return the removed id
+     */
+    public int pop() {
+        int id=ids[0];
+        positions[id]=NOT_IN_HEAP;
+
+        --size;
+        if(size>0){
+            move( size , 0 );
+            siftDown( 0 );
+        }
+        return id;
+    }
+
+    private void siftUp( int position ) {
+        int id=ids[position];
+        double priority=priorities[position];
+
+        while(position>0){
+            int parent=( position-1 )>>>1;
+            if(priorities[parent]<=priority){
+                break;
+            }
+            move( parent , position );
+            position=parent;
+        }
+
+        place( id , priority , position );
+    }
+
+    private void siftDown( int position ) {
+        int id=ids[position];
+        double priority=priorities[position];
+
+        int half=size>>>1;
+        while(position<half){
+            int child=( position<<1 )+1;
+            if(child+1<size&&priorities[child+1]<priorities[child]){
+                ++child;
+            }
+            if(priority<=priorities[child]){
+                break;
+            }
+            move( child , position );
+            position=child;
+        }
+
+        place( id , priority , position );
+    }
+
+    private void move( int from , int to ) {
+        place( ids[from] , priorities[from] , to );
+    }
+
+    private void place( int id , double priority , int position ) {
+        ids[position]=id;
+        priorities[position]=priority;
+        positions[id]=position;
+    }
+}
@@ -0,0 +1,125 @@
+package structures;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * A temporary file mapped in memory,used as a big array outside of the heap
+ * The file is mapped in chunks when they are first used(a single MappedByteBuffer can't be bigger than 2GB),
+ * the pages that are never written take no space since the file is sparse,and they read as 0.
+ * The values must be aligned to their size,so a value is never split between 2 chunks
+ */
+class MappedFile {
+    private static final int CHUNK_SHIFT=30;
+    private static final long CHUNK_MASK=(1L<<CHUNK_SHIFT)-1;
+
+    //sun.misc.Unsafe and its invokeCleaner method,used to unmap the chunks in close(),null if they can't be used
+    private static final Object unsafe;
+    private static final Method invokeCleaner;
+
+    static {
+        Object foundUnsafe=null;
+        Method foundInvokeCleaner=null;
+        try {
+            Class<?> unsafeClass=Class.forName( "sun.misc.Unsafe" );
+            Field field=unsafeClass.getDeclaredField( "theUnsafe" );
+            field.setAccessible( true );
+            foundUnsafe=field.get( null );
+            foundInvokeCleaner=unsafeClass.getMethod( "invokeCleaner" , ByteBuffer.class );
+        } catch (ReflectiveOperationException|RuntimeException e) {
+            //the chunks are unmapped when they are garbage collected
+        }
+        unsafe=foundUnsafe;
+        invokeCleaner=foundInvokeCleaner;
+    }
+
+    private final FileChannel channel;
+    private final List<MappedByteBuffer> chunks=new ArrayList<>();
+
+    /**
+     * @param prefix the prefix of the name of the file,which is created in the directory given by the "statestore.dir" system property
+     */
+    MappedFile( String prefix ) {
+        try {
+            String directory=System.getProperty( "statestore.dir" , System.getProperty( "java.io.tmpdir" ) );
+            Path path=Files.createTempFile( Path.of( directory ) , prefix , ".bin" );
+            try {
+                channel=FileChannel.open( path , READ , WRITE , SPARSE , DELETE_ON_CLOSE );
+            } catch (IOException|RuntimeException e) {
+                Files.deleteIfExists( path );
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    private MappedByteBuffer chunk( long offset ) {
+        int chunk=(int) ( offset>>>CHUNK_SHIFT );
+        while(chunks.size()<=chunk){
+            try {
+                chunks.add( channel.map( FileChannel.MapMode.READ_WRITE , (long) chunks.size()<<CHUNK_SHIFT , 1L<<CHUNK_SHIFT ) );
+            } catch (IOException e) {
+                throw new UncheckedIOException( e );
+            }
+        }
+        return chunks.get( chunk );
+    }
+
+    long getLong( long offset ) {
+        return chunk( offset ).getLong( (int) ( offset&CHUNK_MASK ) );
+    }
+
+    void putLong( long offset , long value ) {
+        chunk( offset ).putLong( (int) ( offset&CHUNK_MASK ) , value );
+    }
+
+    int getInt( long offset ) {
+        return chunk( offset ).getInt( (int) ( offset&CHUNK_MASK ) );
+    }
+
+    void putInt( long offset , int value ) {
+        chunk( offset ).putInt( (int) ( offset&CHUNK_MASK ) , value );
+    }
+
+    byte getByte( long offset ) {
+        return chunk( offset ).get( (int) ( offset&CHUNK_MASK ) );
+    }
+
+    void putByte( long offset , byte value ) {
+        chunk( offset ).put( (int) ( offset&CHUNK_MASK ) , value );
+    }
+
+    /**
+     * Unmaps the chunks,closes and deletes the file,the file can't be used after this
+     * If the chunks can't be unmapped(see unsafe) they are released when they are garbage collected
+     */
+    void close() {
+        if(invokeCleaner!=null){
+            for(var chunk : chunks){
+                try {
+                    invokeCleaner.invoke( unsafe , chunk );
+                } catch (ReflectiveOperationException e) {
+                    break;
+                }
+            }
+        }
+        chunks.clear();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException( e );
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package structures;
+
+/**
+ * A StateStore kept outside of the heap,in memory mapped temporary files,for the searches that visit too many states
+ * to keep them in the heap without long garbage collections(see StateStore.create)
+ *
+ * It's the same open addressing table as StateTable,but it doesn't grow:the buckets file is sized for the max number of states.
+ * The buckets file has 4 bytes for each bucket,the entries file has 16 bytes(the packed state,the parent and the cost)
+ * and the moves file has 1 byte for each id,so around 22 bytes for a state.
+ * The files are created in the directory given by the system property "statestore.dir"(java.io.tmpdir by default),
+ * a tmpfs directory(e.g. /dev/shm) avoids writing them to the disk.
+ * With the default threshold only searches of more than a few million states use it,
+ * the system property "statestore.max-heap-bytes" lowers it(see StateStore.create).
+ * release() must be called when the search is done,to delete the files
+ */
+public class OffHeapStateTable implements StateStore {
+    private static final int MOVE_MASK=7;
+    private static final int CLOSED_FLAG=8;
+
+    private static final int ENTRY_SIZE=16;
+    private static final int PARENT_OFFSET=8,COST_OFFSET=12;
+
+    private static final float MAX_LOAD_FACTOR=0.75f;
+
+    private final long maxSize;
+
+    //for each bucket the id of the state in it+1,since the pages of the file start with 0
+    private final MappedFile buckets;
+    private final long mask;
+    //indexed by the id of a state
+    private final MappedFile entries;
+    private final MappedFile moves;
+
+    private int size;
+
+    /**
+     * @param maxSize the max number of states that can be added
+     */
+    public OffHeapStateTable( long maxSize ) {
+        this.maxSize=Math.min( maxSize , Integer.MAX_VALUE );
+        mask=Long.highestOneBit( (long) ( Math.max( 16 , this.maxSize )/MAX_LOAD_FACTOR ) )*2-1;
+        buckets=new MappedFile( "state-buckets" );
+        MappedFile createdEntries=null;
+        try {
+            createdEntries=new MappedFile( "state-entries" );
+            moves=new MappedFile( "state-moves" );
+        } catch (RuntimeException e) {
+            //the files already created are deleted,since release() can't be called
+            buckets.close();
+            if(createdEntries!=null){
+                createdEntries.close();
+            }
+            throw e;
+        }
+        entries=createdEntries;
+    }
+
+    private static long hash( long state ) {
+        state*=0x9E3779B97F4A7C15L;
+        return state^( state>>>32 );
+    }
+
+    @Override
+    public int find( long state ) {
+        for(long bucket=hash( state )&mask;;bucket=( bucket+1 )&mask){
+            int id=buckets.getInt( bucket*Integer.BYTES )-1;
+            if(id==NONE||getState( id )==state){
+                return id;
+            }
+        }
+    }
+
+    @Override
+    public int add( long state , int parent , int move , int cost ) {
+        if(size==maxSize){
+            throw new IllegalStateException( "The OffHeapStateTable is full,it has "+maxSize+" states" );
+        }
+
+        int id=size++;
+        long offset=(long) id*ENTRY_SIZE;
+        entries.putLong( offset , state );
+        entries.putInt( offset+PARENT_OFFSET , parent );
+        entries.putInt( offset+COST_OFFSET , cost );
+        moves.putByte( id , (byte) move );
+
+        long bucket=hash( state )&mask;
+        while(buckets.getInt( bucket*Integer.BYTES )!=0){
+            bucket=( bucket+1 )&mask;
+        }
+        buckets.putInt( bucket*Integer.BYTES , id+1 );
+        return id;
+    }
+
+    @Override
+    public void update( int id , int parent , int move , int cost ) {
+        long offset=(long) id*ENTRY_SIZE;
+        entries.putInt( offset+PARENT_OFFSET , parent );
+        entries.putInt( offset+COST_OFFSET , cost );
+        moves.putByte( id , (byte) ( ( moves.getByte( id )&~MOVE_MASK )|move ) );
+    }
+
+    @Override
+    public long getState( int id ) {
+        return entries.getLong( (long) id*ENTRY_SIZE );
+    }
+
+    @Override
+    public int getParent( int id ) {
+        return entries.getInt( (long) id*ENTRY_SIZE+PARENT_OFFSET );
+    }
+
+    @Override
+    public int getMove( int id ) {
+        return moves.getByte( id )&MOVE_MASK;
+    }
+
+    @Override
+    public int getCost( int id ) {
+        return entries.getInt( (long) id*ENTRY_SIZE+COST_OFFSET );
+    }
+
+    @Override
+    public boolean isClosed( int id ) {
+        return ( moves.getByte( id )&CLOSED_FLAG )!=0;
+    }
+
+    @Override
+    public void close( int id ) {
+        moves.putByte( id , (byte) ( moves.getByte( id )|CLOSED_FLAG ) );
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void release() {
+        buckets.close();
+        entries.close();
+        moves.close();
+    }
+}
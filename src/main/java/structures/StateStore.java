@@ -0,0 +1,97 @@
+package structures;
+
+import core.StateSpace;
+
+/**
+ * The states visited by a search(see core.StateSpace),with the state from which each one was reached,
+ * the move used to reach it and its cost(the number of moves from the initial state)
+ *
+ * Each added state gets an id(0,1,2,...,in the order in which they were added) which never changes,
+ * so the parent of a state is kept as an id and other arrays can be indexed by it
+ */
+public interface StateStore {
+    //returned when a state is not in the store,also used as the parent of the initial state
+    int NONE=-1;
+    //the move of the initial state,since it wasn't reached using a move
+    int NO_MOVE=7;
+
+    //a DenseStateTable is used when it needs at most this many bytes for the index of the states
+    long MAX_DENSE_INDEX_BYTES=16L<<20;
+    //an OffHeapStateTable is used when the states that can be visited would need more than this many bytes in the heap,
+    //unless the system property "statestore.max-heap-bytes" gives another number of bytes
+    long MAX_HEAP_BYTES=64L<<20;
+    //around the number of bytes used by a StateTable for a state
+    int HEAP_BYTES_PER_STATE=28;
+
+    /**
+     * Same as create(stateSpace,maxNrStates,maxHeapBytes),with the max number of bytes given by the system property
+     * "statestore.max-heap-bytes",or MAX_HEAP_BYTES if it isn't set
+     */
+    static StateStore create( StateSpace stateSpace , long maxNrStates ) {
+        return create( stateSpace , maxNrStates , Long.getLong( "statestore.max-heap-bytes" , MAX_HEAP_BYTES ) );
+    }
+
+    /**
+     * Creates the store for a search:
+     * a DenseStateTable if the instance has few enough states,an OffHeapStateTable if the search can visit too many states
+     * to keep them in the heap and a StateTable otherwise
+     * @param stateSpace the instance that is searched
+     * @param maxNrStates the max number of states the search can add
+     * @param maxHeapBytes the max number of bytes the states can use in the heap,0 to keep them off-heap
+     *                     whenever they don't fit in a DenseStateTable
+     */
+    static StateStore create( StateSpace stateSpace , long maxNrStates , long maxHeapBytes ) {
+        long nrIndexes=stateSpace.getNrIndexes();
+        if(nrIndexes<=MAX_DENSE_INDEX_BYTES/Integer.BYTES){
+            return new DenseStateTable( stateSpace );
+        }
+        if(Math.min( maxNrStates , nrIndexes )>maxHeapBytes/HEAP_BYTES_PER_STATE){
+            return new OffHeapStateTable( Math.min( maxNrStates , nrIndexes ) );
+        }
+        return new StateTable();
+    }
+
+    /**
+     * @param state the packed state
+     * @return the id of the state,or NONE if the state is not in the store
+     */
+    int find( long state );
+
+    /**
+     * Adds a state that is not already in the store
+     * @param state the packed state
+     * @param parent the id of the state from which this state was reached(NONE for the initial state)
+     * @param move the code of the move used to reach this state(NO_MOVE for the initial state)
+     * @param cost the number of moves from the initial state
+     * @return the id of the new state
+     */
+    int add( long state , int parent , int move , int cost );
+
+    /**
+     * Changes the way a state is reached,used when a cheaper way to reach it is found
+     */
+    void update( int id , int parent , int move , int cost );
+
+    long getState( int id );
+
+    int getParent( int id );
+
+    int getMove( int id );
+
+    int getCost( int id );
+
+    /**
+     * A closed state is a state that was already explored(used by A*)
+     */
+    boolean isClosed( int id );
+
+    void close( int id );
+
+    int size();
+
+    /**
+     * Frees what the store keeps outside of the heap,the store can't be used after this
+     */
+    default void release() {
+    }
+}
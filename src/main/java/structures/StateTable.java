@@ -0,0 +1,174 @@
+package structures;
+
+import java.util.Arrays;
+
+/**
+ * A hash table for packed states(see core.StateSpace) that keeps,for each state,the state from which it was reached,
+ * the move used to reach it and its cost(the number of moves from the initial state)
+ *
+ * Everything is kept in primitive arrays(open addressing with linear probing),so a state costs around 20 bytes
+ * instead of the few hundred bytes of a HashMap entry with boxed keys and values.
+ * Each added state gets an id(0,1,2,...,in the order in which they were added) which never changes,
+ * so the parent of a state is kept as an id and other arrays can be indexed by it
+ */
+public class StateTable implements StateStore {
+    private static final int MOVE_MASK=7;
+    private static final int CLOSED_FLAG=8;
+
+    private static final float MAX_LOAD_FACTOR=0.75f;
+
+    //for each bucket the id of the state in it,or NONE if the bucket is empty
+    private int[] buckets;
+    private int mask;
+
+    //indexed by the id of a state
+    private long[] states;
+    private int[] parents;
+    private byte[] moves;
+    private int[] costs;
+
+    private int size;
+
+    public StateTable() {
+        this( 1024 );
+    }
+
+    /**
+     * @param expectedSize the number of states that are expected to be added,so the table doesn't have to grow
+     */
+    public StateTable( int expectedSize ) {
+        int capacity=Math.max( 16 , expectedSize );
+
+        states=new long[capacity];
+        parents=new int[capacity];
+        moves=new byte[capacity];
+        costs=new int[capacity];
+
+        int nrBuckets=Integer.highestOneBit( (int) Math.min( (long) ( capacity/MAX_LOAD_FACTOR ) , 1<<29 ) )<<1;
+        buckets=new int[nrBuckets];
+        Arrays.fill( buckets , NONE );
+        mask=nrBuckets-1;
+    }
+
+    /**
+     * Spreads the bits of the packed state,since the high bits(the side of the state) would be lost otherwise
+     */
+    private static int hash( long state ) {
+        state*=0x9E3779B97F4A7C15L;
+        return (int) (state^( state>>>32 ));
+    }
+
+    /**
+     * @param state the packed state
+     * @return the id of the state,or NONE if the state is not in the table
+     */
+    @Override
+    public int find( long state ) {
+        for(int bucket=hash( state )&mask;;bucket=( bucket+1 )&mask){
+            int id=buckets[bucket];
+            if(id==NONE||states[id]==state){
+                return id;
+            }
+        }
+    }
+
+    /**
+     * Adds a state that is not already in the table
+     * @param state the packed state
+     * @param parent the id of the state from which this state was reached(NONE for the initial state)
+     * @param move the code of the move used to reach this state(NO_MOVE for the initial state)
+     * @param cost the number of moves from the initial state
+     * @return the id of the new state
+     */
+    @Override
+    public int add( long state , int parent , int move , int cost ) {
+        if(size==states.length){
+            growEntries();
+        }
+        if(size+1>buckets.length*MAX_LOAD_FACTOR){
+            rehash( buckets.length<<1 );
+        }
+
+        int id=size++;
+        states[id]=state;
+        parents[id]=parent;
+        moves[id]=(byte) move;
+        costs[id]=cost;
+
+        insertIntoBucket( id );
+        return id;
+    }
+
+    /**
+     * Changes the way a state is reached,used when a cheaper way to reach it is found
+     */
+    @Override
+    public void update( int id , int parent , int move , int cost ) {
+        parents[id]=parent;
+        moves[id]=(byte) ( ( moves[id]&~MOVE_MASK )|move );
+        costs[id]=cost;
+    }
+
+    private void insertIntoBucket( int id ) {
+        int bucket=hash( states[id] )&mask;
+        while(buckets[bucket]!=NONE){
+            bucket=( bucket+1 )&mask;
+        }
+        buckets[bucket]=id;
+    }
+
+    private void growEntries() {
+        int capacity=states.length+( states.length>>1 );
+        states=Arrays.copyOf( states , capacity );
+        parents=Arrays.copyOf( parents , capacity );
+        moves=Arrays.copyOf( moves , capacity );
+        costs=Arrays.copyOf( costs , capacity );
+    }
+
+    private void rehash( int nrBuckets ) {
+        buckets=new int[nrBuckets];
+        Arrays.fill( buckets , NONE );
+        mask=nrBuckets-1;
+        for(int id=0;id<size;++id){
+            insertIntoBucket( id );
+        }
+    }
+
+    @Override
+    public long getState( int id ) {
+        return states[id];
+    }
+
+    @Override
+    public int getParent( int id ) {
+        return parents[id];
+    }
+
+    @Override
+    public int getMove( int id ) {
+        return moves[id]&MOVE_MASK;
+    }
+
+    @Override
+    public int getCost( int id ) {
+        return costs[id];
+    }
+
+    /**
+     * A closed state is a state that was already explored(used by A*)
+     */
+    @Override
+    public boolean isClosed( int id ) {
+        return ( moves[id]&CLOSED_FLAG )!=0;
+    }
+
+    @Override
+    public void close( int id ) {
+        moves[id]|=CLOSED_FLAG;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
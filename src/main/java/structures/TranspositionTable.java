@@ -0,0 +1,84 @@
+package structures;
+
+/**
+ * A fixed size table that remembers,for packed states(see core.StateSpace),the smallest depth at which the depth-first searches
+ * of an iterative deepening search reached them
+ * A state reached at a bigger depth than the smallest one isn't on a shortest path,so it doesn't have to be searched,
+ * and a state reached again at the same depth in the same search was already searched.
+ * A state is kept in one of the PROBE_LENGTH slots after its hash,when they are all used a new state replaces the deepest one,
+ * so the memory doesn't grow with the number of states:a state that was replaced is just searched again
+ */
+public class TranspositionTable {
+    private static final int PROBE_LENGTH=8;
+
+    private final long[] states;
+    private final int[] depths;
+    //the search in which each slot was last written,0 means it was never written
+    private final int[] searches;
+    private final int mask;
+    //the slot of a state is given by the high bits of its hash,the low bits of the packed states that are close are similar
+    private final int hashShift;
+    private int search;
+
+    /**
+     * @param size the number of slots,rounded up to a power of 2
+     */
+    public TranspositionTable( int size ) {
+        int nrSlots=Integer.highestOneBit( Math.max( 16 , Math.min( size , 1<<30 ) )-1 )<<1;
+        states=new long[nrSlots];
+        depths=new int[nrSlots];
+        searches=new int[nrSlots];
+        mask=nrSlots-1;
+        hashShift=Long.numberOfLeadingZeros( nrSlots )+1;
+    }
+
+    private int hash( long state ) {
+        return (int) ( ( state*0x9E3779B97F4A7C15L )>>>hashShift );
+    }
+
+    /**
+     * Should be called before each depth-first search,the states reached at the same depth in the previous searches
+     * are searched again(with a bigger max depth)
+     */
+    public void startSearch() {
+        ++search;
+    }
+
+    /**
+     * Records that the current search reached a state at the given depth
+     * @param state the packed state
+     * @param depth the number of moves from the initial state
+     * @return false if the state doesn't have to be searched from this depth,true otherwise
+     */
+    public boolean visit( long state , int depth ) {
+        int start=hash( state );
+        //the slot that gets the state if it's not in the table:a free one,or else the one with the deepest state
+        int replaced=start&mask;
+        for ( int i = 0 ; i < PROBE_LENGTH ; ++i ) {
+            int slot=( start+i )&mask;
+            if(searches[slot]==0){
+                replaced=slot;
+                break;
+            }
+            if(states[slot]==state){
+                if(depths[slot]<depth||( depths[slot]==depth&&searches[slot]==search )){
+                    return false;
+                }
+                replaced=slot;
+                break;
+            }
+            if(depths[slot]>depths[replaced]){
+                replaced=slot;
+            }
+        }
+
+        states[replaced]=state;
+        depths[replaced]=depth;
+        searches[replaced]=search;
+        return true;
+    }
+
+    public int getSize() {
+        return states.length;
+    }
+}
@@ -0,0 +1,157 @@
+package com.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "batch.max-size=3")
+@AutoConfigureMockMvc
+class AiTema1ServerApplicationEndpointsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * @return the body of a /request,with the items sent by the client
+     */
+    private static String items(long n, long m, long k, String strategy) {
+        return "[{\"id\":\"container-1\",\"value\":\"" + n + "\"},{\"id\":\"container-2\",\"value\":\"" + m + "\"},"
+                + "{\"id\":\"capacity\",\"value\":\"" + k + "\"},{\"id\":\"strategy\",\"value\":\"" + strategy + "\"}]";
+    }
+
+    private static String solveRequest(long n, long m, long k, String strategy, int iterations) {
+        return "{\"n\":" + n + ",\"m\":" + m + ",\"k\":" + k + ",\"strategy\":\"" + strategy + "\",\"iterations\":" + iterations + "}";
+    }
+
+    @Test
+    void requestReturnsTheStepsOfTheSolution() throws Exception {
+        //the initial state and the 6 moves of the shortest solution
+        mockMvc.perform(post("/request").contentType(MediaType.APPLICATION_JSON).content(items(5, 3, 4, "BFS")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Solve-Status", "COMPLETED"))
+                .andExpect(jsonPath("$", hasSize(7)))
+                .andExpect(jsonPath("$[0].*.capacity0").value(0))
+                .andExpect(jsonPath("$[6].*.final").value(true));
+    }
+
+    @Test
+    void anInstanceWithoutSolutionReturnsTheInitialState() throws Exception {
+        mockMvc.perform(post("/request").contentType(MediaType.APPLICATION_JSON).content(items(6, 4, 3, "A*")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Solve-Status", "COMPLETED"))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void streamWritesALineForEachStep() throws Exception {
+        MvcResult result = mockMvc.perform(post("/request/stream").contentType(MediaType.APPLICATION_JSON).content(items(5, 3, 4, "Analytic")))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string("X-Solve-Status", "COMPLETED"))
+                .andReturn();
+        var body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        var lines = body.split("\n");
+        assertEquals(7, lines.length);
+        assertTrue(lines[6].contains("\"final\":true"), lines[6]);
+    }
+
+    @Test
+    void theBinaryFormatIsSentWhenItsAccepted() throws Exception {
+        var bytes = mockMvc.perform(post("/request").contentType(MediaType.APPLICATION_JSON).content(items(5, 3, 4, "BFS"))
+                        .accept(SolutionBinaryWriter.MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Solve-Status", "COMPLETED"))
+                .andExpect(content().contentType(SolutionBinaryWriter.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        //the header of 28 bytes and the 6 moves on 18 bits
+        assertEquals(28 + 3, bytes.length);
+        var buffer = ByteBuffer.wrap(bytes);
+        assertEquals(5, buffer.getLong());
+        assertEquals(3, buffer.getLong());
+        assertEquals(4, buffer.getLong());
+        assertEquals(6, buffer.getInt());
+    }
+
+    @Test
+    void batchReturnsASolutionForEachInstance() throws Exception {
+        mockMvc.perform(post("/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + items(5, 3, 4, "BFS") + "," + items(6, 4, 3, "BFS") + "," + items(3, 5, 4, "BFS") + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0]", hasSize(7)))
+                .andExpect(jsonPath("$[1]", hasSize(1)))
+                .andExpect(jsonPath("$[2]", hasSize(7)));
+    }
+
+    @Test
+    void batchRejectsTooManyInstances() throws Exception {
+        mockMvc.perform(post("/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + String.join(",", Collections.nCopies(4, items(5, 3, 4, "BFS"))) + "]"))
+                .andExpect(status().isPayloadTooLarge());
+    }
+
+    @Test
+    void v2RequestReturnsTheStepsOfAValidRequest() throws Exception {
+        mockMvc.perform(post("/v2/request").contentType(MediaType.APPLICATION_JSON).content(solveRequest(5, 3, 4, "Backtracking", 100)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Solve-Status", "COMPLETED"))
+                .andExpect(jsonPath("$", hasSize(7)));
+    }
+
+    @Test
+    void v2RequestReturnsTheErrorsOfAnInvalidRequest() throws Exception {
+        mockMvc.perform(post("/v2/request").contentType(MediaType.APPLICATION_JSON).content("{\"n\":5,\"m\":-3,\"strategy\":\"BFS\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors", contains(startsWith("m should be between 0 and"), is("k is missing"))));
+
+        mockMvc.perform(post("/v2/request").contentType(MediaType.APPLICATION_JSON).content("{\"n\":5,\"m\":3,\"k\":4,\"strategy\":\"BFS\",\"x\":1}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]", startsWith("The request can't be read")));
+    }
+
+    @Test
+    void metricsHaveTheRunsOfTheStrategies() throws Exception {
+        //an instance that isn't solved by the other tests,so it's not in the cache
+        mockMvc.perform(post("/request").contentType(MediaType.APPLICATION_JSON).content(items(13, 11, 7, "IDA*")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.IDA*.runs", greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.IDA*.expandedStates", greaterThan(0)));
+    }
+
+    @Test
+    void theSecondRequestIsAnsweredFromTheCache() throws Exception {
+        long nrHits = nrCacheHits();
+        for (int i = 0; i < 2; ++i) {
+            mockMvc.perform(post("/request").contentType(MediaType.APPLICATION_JSON).content(items(17, 5, 1, "BFS")))
+                    .andExpect(status().isOk());
+        }
+        assertTrue(nrCacheHits() > nrHits);
+    }
+
+    private long nrCacheHits() throws Exception {
+        var body = mockMvc.perform(get("/cache/stats"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return new ObjectMapper().readTree(body).get("hits").asLong();
+    }
+}
@@ -0,0 +1,57 @@
+package com.server;
+
+import core.Move;
+import core.MoveType;
+import core.State;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchSolverTest {
+
+    private static SolveParameters parameters(long n, long m, long k) {
+        return new SolveParameters(n, m, k, "BFS", 0, 0, 0);
+    }
+
+    @Test
+    void returnsTheSolutionsInTheOrderOfTheInstances() {
+        var batchSolver = new BatchSolver(4, 100);
+        List<SolveParameters> instances = new ArrayList<>();
+        for (int k = 0; k < 20; ++k) {
+            instances.add(parameters(100 + k % 3, 7, k));
+        }
+
+        var solutions = batchSolver.solveAll(instances, instance ->
+                List.of(Map.of(new Move(MoveType.FILL, 0), instance.getInitialState())));
+        assertEquals(instances.size(), solutions.size());
+        for (int i = 0; i < instances.size(); ++i) {
+            assertEquals(instances.get(i).getInitialState(), solutions.get(i).get(0).get(new Move(MoveType.FILL, 0)));
+        }
+    }
+
+    @Test
+    void theEquivalentInstancesAreSolvedByTheSameThread() {
+        var batchSolver = new BatchSolver(4, 100);
+        //(5,3),(3,5) and (10,6) have the same canonical vases,(7,3) doesn't
+        var instances = List.of(parameters(5, 3, 4), parameters(7, 3, 1), parameters(3, 5, 1), parameters(10, 6, 2), parameters(7, 3, 2));
+        Map<Long, Thread> threads = new ConcurrentHashMap<>();
+
+        batchSolver.solveAll(instances, instance -> {
+            var canonicalParameters = CanonicalRequest.of(instance).parameters();
+            var thread = threads.putIfAbsent(canonicalParameters.m(), Thread.currentThread());
+            assertTrue(thread == null || thread == Thread.currentThread(), instance.toString());
+            return List.of();
+        });
+        assertEquals(2, threads.size());
+    }
+
+    @Test
+    void theMaxBatchSizeIsConfigured() {
+        assertEquals(100, new BatchSolver(0, 100).getMaxBatchSize());
+    }
+}
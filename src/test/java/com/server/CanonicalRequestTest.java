@@ -0,0 +1,67 @@
+package com.server;
+
+import core.State;
+import org.junit.jupiter.api.Test;
+import strategy.BFSV2Strategy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CanonicalRequestTest {
+
+    private static SolveParameters parameters(long n, long m, long k) {
+        return new SolveParameters(n, m, k, "BFS", 0, 0, 0);
+    }
+
+    @Test
+    void dividesByTheGcdAndPutsTheSmallerVaseFirst() {
+        var canonical = CanonicalRequest.of(parameters(10, 6, 8));
+        assertEquals(parameters(3, 5, 4), canonical.parameters());
+        assertEquals(2, canonical.scale());
+        assertTrue(canonical.swapped());
+
+        canonical = CanonicalRequest.of(parameters(3, 5, 4));
+        assertEquals(parameters(3, 5, 4), canonical.parameters());
+        assertEquals(1, canonical.scale());
+        assertFalse(canonical.swapped());
+    }
+
+    @Test
+    void unsolvableInstancesAreNotScaled() {
+        var canonical = CanonicalRequest.of(parameters(4, 6, 3));
+        assertEquals(parameters(4, 6, 3), canonical.parameters());
+        assertEquals(1, canonical.scale());
+    }
+
+    @Test
+    void theMovesOfTheCanonicalInstanceSolveTheRequest() {
+        for (long n = 1; n <= 12; ++n) {
+            for (long m = 1; m <= 12; ++m) {
+                for (long k = 0; k <= 13; ++k) {
+                    var initialState = State.getInitialState(n, m, k);
+                    if (!initialState.hasSolution()) {
+                        continue;
+                    }
+
+                    var canonical = CanonicalRequest.of(parameters(n, m, k)).parameters();
+                    var strategy = new BFSV2Strategy(State.getInitialState(canonical.n(), canonical.m(), canonical.k()));
+                    strategy.start();
+                    var expected = new BFSV2Strategy(initialState);
+                    expected.start();
+
+                    var state = initialState;
+                    int nrMoves = 0, expectedNrMoves = 0;
+                    for (var move : CanonicalRequest.of(parameters(n, m, k)).toOriginalMoves(strategy.getMoves())) {
+                        assertTrue(State.moveIsValid(state, move), initialState + " " + move);
+                        state = State.executeMove(state, move);
+                        ++nrMoves;
+                    }
+                    for (var ignored : expected.getMoves()) {
+                        ++expectedNrMoves;
+                    }
+                    assertTrue(state.isFinal(), initialState.toString());
+                    assertEquals(expectedNrMoves, nrMoves, initialState.toString());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.server;
+
+import core.Move;
+import core.State;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolutionBinaryWriterTest {
+
+    /**
+     * Reads the moves back,checking the header
+     */
+    private static List<Move> read(byte[] bytes, State initialState) {
+        var buffer = ByteBuffer.wrap(bytes);
+        assertEquals(initialState.getN(), buffer.getLong());
+        assertEquals(initialState.getM(), buffer.getLong());
+        assertEquals(initialState.getK(), buffer.getLong());
+        int nrMoves = buffer.getInt();
+        assertEquals(buffer.position() + (3 * nrMoves + 7) / 8, bytes.length);
+
+        List<Move> moves = new ArrayList<>();
+        for (int i = 0; i < nrMoves; ++i) {
+            int bit = buffer.position() * 8 + 3 * i;
+            int bits = (bytes[bit / 8] & 0xFF) | (bit / 8 + 1 < bytes.length ? (bytes[bit / 8 + 1] & 0xFF) << 8 : 0);
+            moves.add(Move.fromCode((bits >>> (bit % 8)) & 7));
+        }
+        return moves;
+    }
+
+    @Test
+    void theMovesArePackedOn3Bits() {
+        var initialState = State.getInitialState(5, 3, 4);
+        var moves = List.of(Move.fromCode(3), Move.fromCode(5), Move.fromCode(0), Move.fromCode(4));
+        var bytes = SolutionBinaryWriter.write(initialState, moves);
+
+        //3,5,0,4 from the least significant bits:011 101 000 100
+        assertEquals(28 + 2, bytes.length);
+        assertEquals((byte) 0b00101011, bytes[28]);
+        assertEquals((byte) 0b00001000, bytes[29]);
+        assertEquals(moves, read(bytes, initialState));
+    }
+
+    @Test
+    void aLongSolutionIsReadBack() {
+        var initialState = State.getInitialState(1L << 40, 3, 1);
+        var random = new Random(1);
+        List<Move> moves = new ArrayList<>();
+        for (int i = 0; i < 10001; ++i) {
+            moves.add(Move.fromCode(random.nextInt(Move.NR_MOVES)));
+        }
+        assertEquals(moves, read(SolutionBinaryWriter.write(initialState, moves), initialState));
+    }
+
+    @Test
+    void withoutMovesThereIsOnlyTheHeader() {
+        var initialState = State.getInitialState(6, 4, 3);
+        var bytes = SolutionBinaryWriter.write(initialState, Collections.emptyList());
+        assertEquals(28, bytes.length);
+        assertEquals(List.of(), read(bytes, initialState));
+    }
+}
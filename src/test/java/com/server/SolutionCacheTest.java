@@ -0,0 +1,98 @@
+package com.server;
+
+import core.Move;
+import core.MoveType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolutionCacheTest {
+
+    private static SolveParameters parameters(long k) {
+        return new SolveParameters(1000, 999, k, "BFS", 0, 0, 0);
+    }
+
+    private static List<Move> moves(int nrMoves) {
+        return Collections.nCopies(nrMoves, new Move(MoveType.FILL, 1));
+    }
+
+    @Test
+    void returnsTheCachedMoves() {
+        var cache = new SolutionCache(1 << 20, false);
+        assertNull(cache.get(parameters(1)));
+
+        var moves = List.of(new Move(MoveType.FILL, 0), new Move(MoveType.POUR, 0), new Move(MoveType.EMPTY, 1));
+        cache.put(parameters(1), moves);
+        assertEquals(moves, cache.get(parameters(1)));
+
+        //the parameters that BFS doesn't use aren't part of the key
+        assertEquals(moves, cache.get(new SolveParameters(1000, 999, 1, "BFS", 5, 6, 7)));
+
+        var stats = cache.getStats();
+        assertEquals(2, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.size());
+        assertEquals(96 + 3, stats.weight());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntries() {
+        //16 entries of 4 moves fit,each one weighs 100
+        var cache = new SolutionCache(16 * 106, false);
+        for (int k = 0; k < 16; ++k) {
+            cache.put(parameters(k), moves(4));
+        }
+        assertEquals(16 * 100, cache.getStats().weight());
+        assertEquals(0, cache.getStats().evictions());
+
+        assertNotNull(cache.get(parameters(0)));
+        cache.put(parameters(16), moves(4));
+
+        assertNotNull(cache.get(parameters(0)));
+        assertNull(cache.get(parameters(1)));
+        assertNotNull(cache.get(parameters(16)));
+        var stats = cache.getStats();
+        assertEquals(1, stats.evictions());
+        assertEquals(16, stats.size());
+        assertEquals(16 * 100, stats.weight());
+    }
+
+    @Test
+    void replacingAnEntryChangesItsWeight() {
+        var cache = new SolutionCache(1 << 20, false);
+        cache.put(parameters(1), moves(10));
+        cache.put(parameters(1), moves(3));
+        assertEquals(96 + 3, cache.getStats().weight());
+        assertEquals(3, cache.get(parameters(1)).size());
+    }
+
+    @Test
+    void doesNotCacheTooHeavySolutions() {
+        var cache = new SolutionCache(16 * 106, false);
+        cache.put(parameters(1), moves(11));
+        assertNull(cache.get(parameters(1)));
+        assertEquals(0, cache.getStats().weight());
+    }
+
+    @Test
+    void cachesTheRandomizedStrategiesOnlyIfEnabled() {
+        var parameters = new SolveParameters(5, 3, 4, "HillClimb", 10, 10, 10);
+        var cache = new SolutionCache(1 << 20, false);
+        assertFalse(cache.isCacheable(parameters));
+        cache.put(parameters, moves(4));
+        assertNull(cache.get(parameters));
+
+        var randomizedCache = new SolutionCache(1 << 20, true);
+        randomizedCache.put(parameters, moves(4));
+        assertEquals(4, randomizedCache.get(parameters).size());
+    }
+
+    @Test
+    void aCacheWithoutWeightIsDisabled() {
+        var cache = new SolutionCache(0, false);
+        assertFalse(cache.isCacheable(parameters(1)));
+    }
+}
@@ -0,0 +1,65 @@
+package com.server;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import core.Move;
+import core.MoveType;
+import core.State;
+import org.junit.jupiter.api.Test;
+import strategy.BFSV2Strategy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolutionStreamWriterTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * @return the tree of a step serialized like in the list of /request
+     */
+    private static JsonNode step(Map<Move, State> step) throws IOException {
+        return objectMapper.readTree(objectMapper.writeValueAsString(step));
+    }
+
+    private static String[] write(State initialState, Iterable<Move> moves) throws IOException {
+        var outputStream = new ByteArrayOutputStream();
+        SolutionStreamWriter.write(initialState, moves, outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8).split("\n");
+    }
+
+    @Test
+    void eachLineIsAStepOfTheSolution() throws IOException {
+        var initialState = State.getInitialState(5, 3, 4);
+        var strategy = new BFSV2Strategy(initialState);
+        strategy.start();
+        List<Move> moves = new ArrayList<>();
+        strategy.getMoves().forEach(moves::add);
+
+        var lines = write(initialState, moves);
+        assertEquals(moves.size() + 1, lines.length);
+
+        var state = initialState;
+        assertEquals(step(Map.of(new Move(MoveType.EMPTY, 0), state)), objectMapper.readTree(lines[0]));
+        for (int i = 0; i < moves.size(); ++i) {
+            state = State.executeMove(state, moves.get(i));
+            assertEquals(step(Map.of(moves.get(i), state)), objectMapper.readTree(lines[i + 1]));
+        }
+        assertTrue(objectMapper.readTree(lines[moves.size()]).elements().next().get("final").asBoolean());
+    }
+
+    @Test
+    void withoutMovesOnlyTheInitialStateIsWritten() throws IOException {
+        var initialState = State.getInitialState(6, 4, 3);
+        var lines = write(initialState, Collections.emptyList());
+        assertEquals(1, lines.length);
+        assertEquals(step(Map.of(new Move(MoveType.EMPTY, 0), initialState)), objectMapper.readTree(lines[0]));
+    }
+}
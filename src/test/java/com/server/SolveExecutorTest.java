@@ -0,0 +1,135 @@
+package com.server;
+
+import core.Move;
+import core.State;
+import org.junit.jupiter.api.Test;
+import strategy.AbstractStrategy;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolveExecutorTest {
+
+    private final SolveExecutor executor = new SolveExecutor(50, 4);
+
+    /**
+     * A strategy whose start() runs the given task,which can check if the strategy should stop
+     */
+    private static class TaskStrategy extends AbstractStrategy {
+        private final Runnable task;
+
+        TaskStrategy(Runnable task) {
+            this.task = task;
+            strategyName = "Task";
+        }
+
+        boolean stopRequested() {
+            return shouldStop();
+        }
+
+        @Override
+        public void start() {
+            task.run();
+        }
+
+        @Override
+        public void printSolution() {
+        }
+
+        @Override
+        public List<Map<Move, State>> getSolution() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Iterable<Move> getMoves() {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * A strategy that stops only when it's cancelled,it doesn't look at its deadline
+     */
+    private static class DeadlineIgnoringStrategy extends TaskStrategy {
+        DeadlineIgnoringStrategy() {
+            super(() -> {
+            });
+        }
+
+        @Override
+        public void setDeadline(long deadline) {
+        }
+
+        @Override
+        public void start() {
+            while (!stopRequested()) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    @Test
+    void aStrategyThatFinishesIsCompleted() {
+        var nrCalls = new AtomicInteger();
+        var strategy = new TaskStrategy(() -> {
+        });
+        assertEquals(SolveExecutor.Status.COMPLETED, executor.run(strategy, elapsedNanos -> nrCalls.incrementAndGet()));
+        assertEquals(1, nrCalls.get());
+        assertFalse(strategy.wasStopped());
+    }
+
+    @Test
+    void aStrategyStoppedByItsDeadlineIsPartial() {
+        var strategy = new TaskStrategy[1];
+        strategy[0] = new TaskStrategy(() -> {
+            while (!strategy[0].stopRequested()) {
+                Thread.onSpinWait();
+            }
+        });
+        assertEquals(SolveExecutor.Status.PARTIAL, executor.run(strategy[0]));
+        assertTrue(strategy[0].wasStopped());
+    }
+
+    @Test
+    void aStrategyThatMissesItsDeadlineIsCancelled() {
+        var strategy = new DeadlineIgnoringStrategy();
+        assertEquals(SolveExecutor.Status.PARTIAL, executor.run(strategy));
+        assertTrue(strategy.wasStopped());
+    }
+
+    @Test
+    void aStrategyThatDoesntStopTimesOut() throws InterruptedException {
+        var release = new CountDownLatch(1);
+        var finished = new CountDownLatch(1);
+        var strategy = new TaskStrategy(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertEquals(SolveExecutor.Status.TIMED_OUT, executor.run(strategy, elapsedNanos -> finished.countDown()));
+
+        //the strategy still runs,onFinished is called only when it returns
+        assertEquals(1, finished.getCount());
+        release.countDown();
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void theExceptionsOfTheStrategyAreThrown() {
+        var nrCalls = new AtomicInteger();
+        var strategy = new TaskStrategy(() -> {
+            throw new IllegalStateException("failed");
+        });
+        var exception = assertThrows(IllegalStateException.class, () -> executor.run(strategy, elapsedNanos -> nrCalls.incrementAndGet()));
+        assertEquals("failed", exception.getMessage());
+        assertEquals(1, nrCalls.get());
+    }
+}
@@ -0,0 +1,51 @@
+package com.server;
+
+import core.State;
+import org.junit.jupiter.api.Test;
+import strategy.BFSV2Strategy;
+import strategy.DistanceTableStrategy;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolveMetricsTest {
+
+    @Test
+    void recordsTheRunsOfEachStrategy() {
+        var metrics = new SolveMetrics();
+        assertTrue(metrics.getSnapshots().isEmpty());
+
+        var strategy = new BFSV2Strategy(State.getInitialState(5, 3, 4));
+        strategy.start();
+        var statistics = strategy.getStatistics();
+        metrics.record(strategy, TimeUnit.MICROSECONDS.toNanos(3));
+        metrics.record(strategy, TimeUnit.MICROSECONDS.toNanos(1000));
+
+        var snapshot = metrics.getSnapshots().get(strategy.getStrategyName());
+        assertEquals(2, snapshot.runs());
+        assertEquals(501, snapshot.meanMicros());
+        //the upper bound of the bucket [2,4) and the max,since the bucket [512,1024) goes over it
+        assertEquals(4, snapshot.p50Micros());
+        assertEquals(1000, snapshot.p99Micros());
+        assertEquals(1000, snapshot.maxMicros());
+
+        assertEquals(2 * statistics.getNrExpandedStates(), snapshot.expandedStates());
+        assertEquals(2 * statistics.getNrGeneratedStates(), snapshot.generatedStates());
+        assertEquals(2 * statistics.getNrDuplicateStates(), snapshot.duplicateStates());
+        assertEquals(statistics.getMaxDepth(), snapshot.maxDepth());
+        assertEquals(statistics.getMaxFrontierSize(), snapshot.maxFrontierSize());
+        assertTrue(snapshot.expandedStates() > 0);
+    }
+
+    @Test
+    void theStrategiesAreSortedByName() {
+        var metrics = new SolveMetrics();
+        metrics.record(new DistanceTableStrategy(State.getInitialState(5, 3, 4)), 0);
+        metrics.record(new BFSV2Strategy(State.getInitialState(5, 3, 4)), 0);
+
+        assertEquals(List.of("BFS(distance table)", "BFSV2"), List.copyOf(metrics.getSnapshots().keySet()));
+        assertEquals(0, metrics.getSnapshots().get("BFSV2").maxMicros());
+    }
+}
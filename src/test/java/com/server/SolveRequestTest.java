@@ -0,0 +1,42 @@
+package com.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolveRequestTest {
+
+    @Test
+    void aValidRequestHasNoErrors() {
+        var request = new SolveRequest(5L, 3L, 4L, "BFS", null, null, null);
+        assertEquals(List.of(), request.validate());
+        assertEquals(new SolveParameters(5, 3, 4, "BFS", 0, 0, 0), request.toParameters());
+    }
+
+    @Test
+    void reportsTheMissingParameters() {
+        var request = new SolveRequest(null, 3L, null, null, null, null, null);
+        assertEquals(List.of("n is missing", "k is missing", "strategy is missing"), request.validate());
+    }
+
+    @Test
+    void reportsTheValuesOutOfRange() {
+        var request = new SolveRequest(-1L, 1L << 61, 4L, "DFS", -1, 1_000_001, 1_000_000);
+        var errors = request.validate();
+        assertEquals(5, errors.size(), errors.toString());
+        assertEquals("n should be between 0 and " + ((1L << 61) - 1), errors.get(0));
+        assertEquals("m should be between 0 and " + ((1L << 61) - 1), errors.get(1));
+        assertTrue(errors.get(2).startsWith("strategy should be one of "));
+        assertEquals("depth should be between 0 and 1000000", errors.get(3));
+        assertEquals("iterations should be between 0 and 1000000", errors.get(4));
+    }
+
+    @Test
+    void acceptsTheBiggestCapacities() {
+        long maxCapacity = (1L << 61) - 1;
+        var request = new SolveRequest(maxCapacity, maxCapacity, 0L, "Analytic", 1_000_000, 0, 0);
+        assertEquals(List.of(), request.validate());
+    }
+}
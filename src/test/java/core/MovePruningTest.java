@@ -0,0 +1,45 @@
+package core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovePruningTest {
+
+    @Test
+    void prunedMovesAreUseless() {
+        //a pruned pair of moves gets to the state before them or to a state that a single move gets to
+        for(long n=1;n<=8;++n){
+            for(long m=1;m<=8;++m){
+                var stateSpace=new StateSpace( n , m , 1 );
+                for(long index=0;index<stateSpace.getNrIndexes();++index){
+                    long state=stateSpace.stateAt( index );
+                    for(int previousMove=0;previousMove<Move.NR_MOVES;++previousMove){
+                        if(!stateSpace.moveIsValid( state , previousMove )){
+                            continue;
+                        }
+                        long middleState=stateSpace.executeMove( state , previousMove );
+                        for(int move=0;move<Move.NR_MOVES;++move){
+                            if(!MovePruning.isPruned( previousMove , move )||!stateSpace.moveIsValid( middleState , move )){
+                                continue;
+                            }
+                            long newState=stateSpace.executeMove( middleState , move );
+                            boolean useless=newState==state;
+                            for(int singleMove=0;singleMove<Move.NR_MOVES;++singleMove){
+                                useless|=stateSpace.moveIsValid( state , singleMove )&&stateSpace.executeMove( state , singleMove )==newState;
+                            }
+                            assertTrue( useless , stateSpace.toState( state )+" "+Move.fromCode( previousMove )+" "+Move.fromCode( move ) );
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void noMoveIsPrunedAtTheStart() {
+        for(int move=0;move<Move.NR_MOVES;++move){
+            assertFalse( MovePruning.isPruned( MovePruning.NO_MOVE , move ) );
+        }
+    }
+}
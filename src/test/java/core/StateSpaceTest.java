@@ -0,0 +1,144 @@
+package core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StateSpaceTest {
+    //the instances checked by the tests,including the ones with an empty vase
+    private static final int maxCapacity=12;
+
+    private static Move[] allMoves() {
+        var moves=new Move[Move.NR_MOVES];
+        for(int code=0;code<Move.NR_MOVES;++code){
+            moves[code]=Move.fromCode( code );
+        }
+        return moves;
+    }
+
+    @Test
+    void packKeepsTheCapacities() {
+        for(long n=0;n<=maxCapacity;++n){
+            for(long m=0;m<=maxCapacity;++m){
+                var stateSpace=new StateSpace( n , m , 1 );
+                for(long c0=0;c0<=n;++c0){
+                    for(long c1=0;c1<=m;++c1){
+                        if(!stateSpace.isOnBoundary( c0 , c1 )){
+                            continue;
+                        }
+                        long state=stateSpace.pack( c0 , c1 );
+                        assertEquals( c0 , stateSpace.getCapacity0( state ) );
+                        assertEquals( c1 , stateSpace.getCapacity1( state ) );
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void packRejectsStatesInsideTheGrid() {
+        var stateSpace=new StateSpace( 5 , 3 , 4 );
+        assertThrows( IllegalArgumentException.class , () -> stateSpace.pack( 2 , 1 ) );
+    }
+
+    @Test
+    void packKeepsBigCapacities() {
+        long n=(1L<<61)-1,m=(1L<<61)-2;
+        var stateSpace=new StateSpace( n , m , 1 );
+        long state=stateSpace.pack( n , m-7 );
+        assertEquals( n , stateSpace.getCapacity0( state ) );
+        assertEquals( m-7 , stateSpace.getCapacity1( state ) );
+    }
+
+    @Test
+    void executeMoveIsTheSameAsForState() {
+        for(long n=0;n<=maxCapacity;++n){
+            for(long m=0;m<=maxCapacity;++m){
+                for(long k=0;k<=maxCapacity;++k){
+                    var stateSpace=new StateSpace( n , m , k );
+                    for(long index=0;index<stateSpace.getNrIndexes();++index){
+                        long state=stateSpace.stateAt( index );
+                        var expectedState=stateSpace.toState( state );
+                        assertEquals( expectedState.isFinal() , stateSpace.isFinal( state ) );
+
+                        for(var move : allMoves()){
+                            int code=move.getCode();
+                            assertEquals( State.moveIsValid( expectedState , move ) , stateSpace.moveIsValid( state , code ) , expectedState+" "+move );
+                            if(stateSpace.moveIsValid( state , code )){
+                                var newState=State.executeMove( expectedState , move );
+                                assertEquals( newState , stateSpace.toState( stateSpace.executeMove( state , code ) ) , expectedState+" "+move );
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void getPredecessorsIsTheInverseOfExecuteMove() {
+        long[] predecessors=new long[StateSpace.MAX_PREDECESSORS];
+        for(long n=0;n<=maxCapacity;++n){
+            for(long m=0;m<=maxCapacity;++m){
+                var stateSpace=new StateSpace( n , m , 1 );
+                for(long index=0;index<stateSpace.getNrIndexes();++index){
+                    long state=stateSpace.stateAt( index );
+                    for(int move=0;move<Move.NR_MOVES;++move){
+                        int nrPredecessors=stateSpace.getPredecessors( state , move , predecessors );
+                        for(int i=0;i<nrPredecessors;++i){
+                            assertTrue( stateSpace.moveIsValid( predecessors[i] , move ) );
+                            assertEquals( state , stateSpace.executeMove( predecessors[i] , move ) );
+                        }
+                    }
+                }
+
+                //every move is found backwards,except FILL/EMPTY into a corner(see getPredecessors)
+                for(long index=0;index<stateSpace.getNrIndexes();++index){
+                    long state=stateSpace.stateAt( index );
+                    for(int move=0;move<Move.NR_MOVES;++move){
+                        if(!stateSpace.moveIsValid( state , move )){
+                            continue;
+                        }
+                        long newState=stateSpace.executeMove( state , move );
+                        long c0=stateSpace.getCapacity0( newState ),c1=stateSpace.getCapacity1( newState );
+                        boolean corner=( c0==0||c0==n )&&( c1==0||c1==m );
+                        if(corner&&Move.fromCode( move ).getMoveType()!=MoveType.POUR){
+                            continue;
+                        }
+
+                        int nrPredecessors=stateSpace.getPredecessors( newState , move , predecessors );
+                        boolean found=false;
+                        for(int i=0;i<nrPredecessors;++i){
+                            found|=predecessors[i]==state;
+                        }
+                        assertTrue( found , stateSpace.toState( state )+" "+Move.fromCode( move ) );
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void indexOfAndStateAtAreInverses() {
+        for(long n=0;n<=maxCapacity;++n){
+            for(long m=0;m<=maxCapacity;++m){
+                var stateSpace=new StateSpace( n , m , 1 );
+                long nrStates=0;
+                for(long c0=0;c0<=n;++c0){
+                    for(long c1=0;c1<=m;++c1){
+                        if(!stateSpace.isOnBoundary( c0 , c1 )){
+                            continue;
+                        }
+                        ++nrStates;
+                        long state=stateSpace.pack( c0 , c1 );
+                        long index=stateSpace.indexOf( state );
+                        assertTrue( index>=0&&index<stateSpace.getNrIndexes() , "("+c0+","+c1+") of ("+n+","+m+")" );
+                        assertEquals( state , stateSpace.stateAt( index ) );
+                    }
+                }
+                //the indexes are dense
+                assertEquals( nrStates , stateSpace.getNrIndexes() );
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package heuristics;
+
+import core.State;
+import core.StateSpace;
+import org.junit.jupiter.api.Test;
+import strategy.BFSV2Strategy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatternDatabaseTest {
+
+    /**
+     * @return the number of moves of the shortest solution from the state,or UNREACHABLE if there is none
+     */
+    private static int bfsDistance( State state ) {
+        if(!state.hasSolution()){
+            return PatternDatabase.UNREACHABLE;
+        }
+        var strategy=new BFSV2Strategy( state );
+        strategy.start();
+        int nrMoves=0;
+        for(var ignored : strategy.getMoves()){
+            ++nrMoves;
+        }
+        return nrMoves;
+    }
+
+    @Test
+    void distancesAreTheSameAsBFS() {
+        for(long n=0;n<=10;++n){
+            for(long m=0;m<=10;++m){
+                for(long k=0;k<=11;++k){
+                    var table=PatternDatabase.of( n , m , k );
+                    var stateSpace=new StateSpace( n , m , k );
+                    for(long index=0;index<stateSpace.getNrIndexes();++index){
+                        long state=stateSpace.stateAt( index );
+                        int distance=bfsDistance( stateSpace.toState( state ) );
+                        //hasSolution only looks at the instance,a state that can't get to a final state has no distance in the table
+                        if(distance!=PatternDatabase.UNREACHABLE){
+                            assertEquals( distance , table.getDistance( state ) , stateSpace.toState( state ).toString() );
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void theInitialStatesOfUnsolvableInstancesAreUnreachable() {
+        //the other states can be final,e.g. (0,3) for (4,6,3)
+        for(long[] instance : new long[][]{ { 4 , 6 , 3 } , { 6 , 9 , 1 } , { 3 , 5 , 6 } , { 0 , 0 , 1 } }){
+            var stateSpace=new StateSpace( instance[0] , instance[1] , instance[2] );
+            var table=PatternDatabase.of( instance[0] , instance[1] , instance[2] );
+            assertEquals( PatternDatabase.UNREACHABLE , table.getDistance( stateSpace.getInitialState() ) );
+        }
+    }
+
+    @Test
+    void theHeuristicIsTheDistanceOfTheInitialState() {
+        var heuristic=new PatternDatabaseHeuristic();
+        var state=State.getInitialState( 5 , 3 , 4 );
+        assertEquals( bfsDistance( state ) , heuristic.evaluate( state ) );
+        assertEquals( heuristic.getMaximumValue() , heuristic.evaluate( State.getInitialState( 4 , 6 , 3 ) ) );
+    }
+
+    @Test
+    void bigInstancesAreNotSupported() {
+        assertFalse( PatternDatabase.isSupported( 1L<<40 , 3 , 1 ) );
+        assertThrows( IllegalArgumentException.class , () -> PatternDatabase.of( 1L<<40 , 3 , 1 ) );
+    }
+}
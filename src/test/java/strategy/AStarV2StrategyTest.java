@@ -0,0 +1,62 @@
+package strategy;
+
+import core.State;
+import heuristics.DistanceHeuristic1;
+import heuristics.Heuristic;
+import heuristics.PatternDatabaseHeuristic;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static strategy.StrategyAssertions.*;
+
+class AStarV2StrategyTest {
+
+    /**
+     * DistanceHeuristic1 without evaluateInt,so A* uses the binary heap instead of the bucket queue
+     */
+    private static final Heuristic notIntegral=new Heuristic() {
+        private final Heuristic heuristic=new DistanceHeuristic1();
+
+        @Override
+        public double evaluate( State state ) {
+            return heuristic.evaluate( state );
+        }
+
+        @Override
+        public double getMaximumValue() {
+            return heuristic.getMaximumValue();
+        }
+
+        @Override
+        public double getMinimumValue() {
+            return heuristic.getMinimumValue();
+        }
+    };
+
+    @Test
+    void theHeapFindsAShortestSolution() {
+        forEachSmallInstance( initialState ->
+                assertEquals( shortest( initialState ) , solve( new AStarV2Strategy( initialState , notIntegral , 1000000 ) , initialState ) , initialState.toString() ) );
+    }
+
+    @Test
+    void theBucketQueueFindsAShortestSolution() {
+        assertTrue( new DistanceHeuristic1().isIntegral() );
+        forEachSmallInstance( initialState ->
+                assertEquals( shortest( initialState ) , solve( new AStarV2Strategy( initialState , new DistanceHeuristic1() , 1000000 ) , initialState ) , initialState.toString() ) );
+    }
+
+    @Test
+    void findsAShortestSolutionWithThePatternDatabase() {
+        forEachSmallInstance( initialState ->
+                assertEquals( shortest( initialState ) , solve( new AStarV2Strategy( initialState , new PatternDatabaseHeuristic() , 1000000 ) , initialState ) , initialState.toString() ) );
+    }
+
+    @Test
+    void stopsAfterMaxNrVisitedStates() {
+        var initialState=State.getInitialState( 1000 , 999 , 500 );
+        assertEquals( -1 , solve( new AStarV2Strategy( initialState , new DistanceHeuristic1() , 10 ) , initialState ) );
+        assertEquals( -1 , solve( new AStarV2Strategy( initialState , notIntegral , 10 ) , initialState ) );
+        assertEquals( shortest( initialState ) , solve( new AStarV2Strategy( initialState , notIntegral , 1000000 ) , initialState ) );
+    }
+}
@@ -0,0 +1,61 @@
+package strategy;
+
+import core.State;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static strategy.StrategyAssertions.*;
+
+class AnalyticStrategyTest {
+
+    @Test
+    void findsAShortestSolution() {
+        forEachSmallInstance( initialState ->
+                assertEquals( shortest( initialState ) , solve( new AnalyticStrategy( initialState ) , initialState ) , initialState.toString() ) );
+    }
+
+    @Test
+    void getNrMovesIsTheLengthOfTheShortestSolution() {
+        for(long k=1;k<=101;++k){
+            var initialState=State.getInitialState( 101 , 7 , k );
+            var strategy=new AnalyticStrategy( initialState );
+            assertEquals( shortest( initialState ) , solve( strategy , initialState ) , initialState.toString() );
+            assertEquals( replay( strategy , initialState ) , strategy.getNrMoves() , initialState.toString() );
+        }
+    }
+
+    @Test
+    void solvesHugeInstancesWithoutSearching() {
+        long n=1_000_000_000_000_000_000L;
+        //fill the second vase and pour it into the first one twice,the second time n-m fits
+        var initialState=State.getInitialState( n , n-1 , n-2 );
+        var strategy=new AnalyticStrategy( initialState );
+        assertEquals( 4 , solve( strategy , initialState ) );
+        assertEquals( 4 , strategy.getNrMoves() );
+
+        //k can't be obtained,the gcd of n and n-2 is 2
+        initialState=State.getInitialState( n , n-2 , 3 );
+        assertEquals( -1 , solve( new AnalyticStrategy( initialState ) , initialState ) );
+    }
+
+    @Test
+    void theMovesOfALongSolutionAreGeneratedWhileIterating() {
+        //the second vase has only 2 liters,so 1 liter is left only after about n/2 pours between the vases
+        var initialState=State.getInitialState( 1000003 , 2 , 1 );
+        var strategy=new AnalyticStrategy( initialState );
+        assertEquals( 1000002 , solve( strategy , initialState ) );
+        assertEquals( 1000002 , strategy.getNrMoves() );
+    }
+
+    @Test
+    void onlyTheFirstMovesOfALongSolutionAreReturned() {
+        var initialState=State.getInitialState( 1000003 , 2 , 1 );
+        var strategy=new AnalyticStrategy( initialState );
+        strategy.start();
+        assertEquals( 1000002 , strategy.getNrMoves() );
+
+        var steps=strategy.getSolution();
+        assertEquals( 1000001 , steps.size() );
+        assertFalse( steps.get( 1000000 ).values().iterator().next().isFinal() );
+    }
+}
@@ -0,0 +1,36 @@
+package strategy;
+
+import core.Move;
+import core.State;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BFSV2StrategyTest {
+
+    private static List<Move> solve( State initialState ) {
+        var strategy=new BFSV2Strategy( initialState );
+        strategy.start();
+        var moves=new ArrayList<Move>();
+        strategy.getMoves().forEach( moves::add );
+        return moves;
+    }
+
+    @Test
+    void theOffHeapStoreGivesTheSameSolution() {
+        //too many states for a DenseStateTable,so the states are in a StateTable or off-heap
+        var initialState=State.getInitialState( 3000000 , 2000001 , 12345 );
+        var expected=solve( initialState );
+        assertEquals( 41148 , expected.size() );
+
+        System.setProperty( "statestore.max-heap-bytes" , "0" );
+        try {
+            assertEquals( expected , solve( initialState ) );
+        } finally {
+            System.clearProperty( "statestore.max-heap-bytes" );
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package strategy;
+
+import core.State;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static strategy.StrategyAssertions.*;
+
+class BacktrackingV1StrategyTest {
+
+    @Test
+    void findsASolutionIfThereIsOne() {
+        forEachSmallInstance( initialState -> {
+            int nrMoves=solve( new BacktrackingV1Strategy( initialState ) , initialState );
+            int expected=shortest( initialState );
+            assertEquals( expected<0 , nrMoves<0 , initialState.toString() );
+            assertTrue( nrMoves>=expected , initialState.toString() );
+        } );
+    }
+
+    @Test
+    void aLongPathDoesntOverflowTheStack() {
+        //the depth-first search goes about 200000 moves deep before reaching a final state
+        var initialState=State.getInitialState( 100000 , 99999 , 50000 );
+        assertTrue( solve( new BacktrackingV1Strategy( initialState ) , initialState )>100000 );
+    }
+}
@@ -0,0 +1,20 @@
+package strategy;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static strategy.StrategyAssertions.*;
+
+class BacktrackingV2StrategyTest {
+
+    @Test
+    void findsASolutionWithinMaxNrMoves() {
+        forEachSmallInstance( initialState -> {
+            int nrMoves=shortest( initialState );
+            if(nrMoves>0){
+                assertEquals( nrMoves , solve( new BacktrackingV2Strategy( initialState , nrMoves ) , initialState ) , initialState.toString() );
+                assertEquals( -1 , solve( new BacktrackingV2Strategy( initialState , nrMoves-1 ) , initialState ) , initialState.toString() );
+            }
+        } );
+    }
+}
@@ -0,0 +1,37 @@
+package strategy;
+
+import core.Move;
+import core.MoveType;
+import core.State;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static strategy.StrategyAssertions.*;
+
+class BidirectionalBFSStrategyTest {
+
+    @Test
+    void findsAShortestSolution() {
+        forEachSmallInstance( initialState ->
+                assertEquals( shortest( initialState ) , solve( new BidirectionalBFSStrategy( initialState ) , initialState ) , initialState.toString() ) );
+    }
+
+    @Test
+    void theSearchesMeetOnALongSolution() {
+        //1996 moves,so each search goes about 1000 levels deep
+        var initialState=State.getInitialState( 1000 , 999 , 500 );
+        assertEquals( shortest( initialState ) , solve( new BidirectionalBFSStrategy( initialState ) , initialState ) );
+    }
+
+    @Test
+    void aVaseWithTheCapacityKIsFilled() {
+        var strategy=new BidirectionalBFSStrategy( State.getInitialState( 5 , 3 , 3 ) );
+        strategy.start();
+        List<Move> moves=new ArrayList<>();
+        strategy.getMoves().forEach( moves::add );
+        assertEquals( List.of( new Move( MoveType.FILL , 1 ) ) , moves );
+    }
+}
@@ -0,0 +1,58 @@
+package strategy;
+
+import core.Move;
+import core.State;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static strategy.StrategyAssertions.*;
+
+class DistanceTableStrategyTest {
+
+    private static List<Move> moves( Strategy strategy ) {
+        strategy.start();
+        var moves=new ArrayList<Move>();
+        strategy.getMoves().forEach( moves::add );
+        return moves;
+    }
+
+    @Test
+    void findsTheSameSolutionAsBFSV2() {
+        forEachSmallInstance( initialState ->
+                assertEquals( moves( new BFSV2Strategy( initialState ) ) , moves( new DistanceTableStrategy( initialState ) ) , initialState.toString() ) );
+    }
+
+    @Test
+    void theTableIsComputedOnceForEveryK() {
+        var table=DistanceTable.of( 101 , 7 , new DistanceTableStrategy( State.getInitialState( 101 , 7 , 1 ) ) );
+        assertSame( table , DistanceTable.of( 101 , 7 , new DistanceTableStrategy( State.getInitialState( 101 , 7 , 50 ) ) ) );
+
+        for(long k=0;k<=102;++k){
+            var initialState=State.getInitialState( 101 , 7 , k );
+            assertEquals( shortest( initialState ) , table.getDistance( k ) , initialState.toString() );
+            assertEquals( table.getDistance( k ) , solve( new DistanceTableStrategy( initialState ) , initialState ) , initialState.toString() );
+        }
+    }
+
+    @Test
+    void bigInstancesAreNotSupported() {
+        assertTrue( DistanceTable.isSupported( DistanceTable.MAX_NR_INDEXES/4 , DistanceTable.MAX_NR_INDEXES/4 ) );
+        assertFalse( DistanceTable.isSupported( DistanceTable.MAX_NR_INDEXES , 1 ) );
+        var strategy=new DistanceTableStrategy( State.getInitialState( DistanceTable.MAX_NR_INDEXES , 1 , 1 ) );
+        assertThrows( IllegalArgumentException.class , () -> DistanceTable.of( DistanceTable.MAX_NR_INDEXES , 1 , strategy ) );
+    }
+
+    @Test
+    void aStoppedTableIsntCached() {
+        var initialState=State.getInitialState( 4001 , 3999 , 2000 );
+        var strategy=new DistanceTableStrategy( initialState );
+        strategy.cancel();
+        assertEquals( -1 , solve( strategy , initialState ) );
+        assertTrue( strategy.wasStopped() );
+
+        assertEquals( shortest( initialState ) , solve( new DistanceTableStrategy( initialState ) , initialState ) );
+    }
+}
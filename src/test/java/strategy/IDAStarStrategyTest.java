@@ -0,0 +1,39 @@
+package strategy;
+
+import core.State;
+import heuristics.DistanceHeuristic1;
+import heuristics.PatternDatabaseHeuristic;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static strategy.StrategyAssertions.*;
+
+class IDAStarStrategyTest {
+
+    @Test
+    void findsAShortestSolutionWithDistanceHeuristic1() {
+        //the heuristic is 1 or 2 on most states that aren't final,so most bounds are passed by solutions longer than them
+        forEachSmallInstance( initialState ->
+                assertEquals( shortest( initialState ) , solve( new IDAStarStrategy( initialState , new DistanceHeuristic1() , 1000 ) , initialState ) , initialState.toString() ) );
+    }
+
+    @Test
+    void findsAShortestSolutionWithThePatternDatabase() {
+        forEachSmallInstance( initialState ->
+                assertEquals( shortest( initialState ) , solve( new IDAStarStrategy( initialState , new PatternDatabaseHeuristic() , 1000 ) , initialState ) , initialState.toString() ) );
+    }
+
+    @Test
+    void findsTheSameSolutionsWithoutACache() {
+        forEachSmallInstance( initialState ->
+                assertEquals( shortest( initialState ) , solve( new IDAStarStrategy( initialState , new DistanceHeuristic1() , 1000 , 0 ) , initialState ) , initialState.toString() ) );
+    }
+
+    @Test
+    void doesntGoOverMaxNrMoves() {
+        var initialState=State.getInitialState( 101 , 7 , 50 );
+        int nrMoves=shortest( initialState );
+        assertEquals( -1 , solve( new IDAStarStrategy( initialState , new DistanceHeuristic1() , nrMoves-1 ) , initialState ) );
+        assertEquals( nrMoves , solve( new IDAStarStrategy( initialState , new DistanceHeuristic1() , nrMoves ) , initialState ) );
+    }
+}
@@ -0,0 +1,30 @@
+package strategy;
+
+import core.State;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static strategy.StrategyAssertions.*;
+
+class IterativeDeepeningStrategyTest {
+
+    @Test
+    void findsAShortestSolution() {
+        forEachSmallInstance( initialState ->
+                assertEquals( shortest( initialState ) , solve( new IterativeDeepeningStrategy( initialState , 1000 ) , initialState ) , initialState.toString() ) );
+    }
+
+    @Test
+    void findsTheSameSolutionsWithoutATranspositionTable() {
+        forEachSmallInstance( initialState ->
+                assertEquals( shortest( initialState ) , solve( new IterativeDeepeningStrategy( initialState , 1000 , 0 ) , initialState ) , initialState.toString() ) );
+    }
+
+    @Test
+    void doesntGoOverMaxNrMoves() {
+        var initialState=State.getInitialState( 101 , 7 , 50 );
+        int nrMoves=shortest( initialState );
+        assertEquals( -1 , solve( new IterativeDeepeningStrategy( initialState , nrMoves-1 ) , initialState ) );
+        assertEquals( nrMoves , solve( new IterativeDeepeningStrategy( initialState , nrMoves ) , initialState ) );
+    }
+}
@@ -0,0 +1,45 @@
+package strategy;
+
+import core.Move;
+import core.State;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static strategy.StrategyAssertions.*;
+
+class ParallelBFSStrategyTest {
+
+    private static List<Move> solve( State initialState , ForkJoinPool pool ) {
+        var strategy=new ParallelBFSStrategy( initialState , pool );
+        strategy.start();
+        var moves=new ArrayList<Move>();
+        strategy.getMoves().forEach( moves::add );
+        return moves;
+    }
+
+    @Test
+    void findsAShortestSolution() {
+        forEachSmallInstance( initialState ->
+                assertEquals( shortest( initialState ) , StrategyAssertions.solve( new ParallelBFSStrategy( initialState ) , initialState ) , initialState.toString() ) );
+    }
+
+    @Test
+    void theSolutionDoesntDependOnTheNumberOfThreads() {
+        var initialState=State.getInitialState( 1000 , 999 , 500 );
+        var pool=new ForkJoinPool( 4 );
+        try {
+            var moves=solve( initialState , pool );
+            assertEquals( shortest( initialState ) , moves.size() );
+            assertEquals( moves , solve( initialState , ForkJoinPool.commonPool() ) );
+
+            //the levels of 2 vases have a few states,so they are expanded without the pool
+            assertEquals( 0 , pool.getPoolSize() );
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package strategy;
+
+import heuristics.PatternDatabaseHeuristic;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static strategy.StrategyAssertions.*;
+
+class StochasticHillClimbingStrategyTest {
+
+    @Test
+    void findsASolutionWithThePatternDatabase() {
+        //the pattern database gives the distance to a final state,so from every state there is a move that makes it smaller
+        forEachSmallInstance( initialState -> {
+            int nrMoves=solve( new StochasticHillClimbingStrategy( initialState , new PatternDatabaseHeuristic() , 1000 , 100 ) , initialState );
+            int expected=shortest( initialState );
+            assertEquals( expected<0 , nrMoves<0 , initialState.toString() );
+            assertTrue( nrMoves>=expected , initialState.toString() );
+        } );
+    }
+}
@@ -0,0 +1,66 @@
+package strategy;
+
+import core.State;
+
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the solutions of the strategies by replaying their moves
+ */
+final class StrategyAssertions {
+    //the biggest capacity of the small instances,which every strategy can solve
+    static final int maxCapacity=9;
+
+    private StrategyAssertions() {
+    }
+
+    /**
+     * Replays the moves of a strategy that was started and checks that each of them is valid
+     * @return the number of moves of the solution,or -1 if there is no solution(no moves from a state that isn't final)
+     */
+    static int replay( Strategy strategy , State initialState ) {
+        var state=initialState;
+        int nrMoves=0;
+        for(var move : strategy.getMoves()){
+            assertTrue( State.moveIsValid( state , move ) , initialState+" "+move );
+            state=State.executeMove( state , move );
+            ++nrMoves;
+        }
+        if(nrMoves==0&&!state.isFinal()){
+            return -1;
+        }
+        assertTrue( state.isFinal() , initialState.toString() );
+        return nrMoves;
+    }
+
+    /**
+     * Starts the strategy and replays its moves
+     * @return the number of moves of the solution,or -1 if there is no solution
+     */
+    static int solve( Strategy strategy , State initialState ) {
+        strategy.start();
+        return replay( strategy , initialState );
+    }
+
+    /**
+     * @return the number of moves of the shortest solution(found by BFSV2),or -1 if there is no solution
+     */
+    static int shortest( State initialState ) {
+        return solve( new BFSV2Strategy( initialState ) , initialState );
+    }
+
+    /**
+     * Runs the check for every instance with n,m<=maxCapacity and k<=maxCapacity+1
+     */
+    static void forEachSmallInstance( Consumer<State> check ) {
+        for(long n=0;n<=maxCapacity;++n){
+            for(long m=0;m<=maxCapacity;++m){
+                for(long k=0;k<=maxCapacity+1;++k){
+                    check.accept( State.getInitialState( n , m , k ) );
+                }
+            }
+        }
+    }
+}
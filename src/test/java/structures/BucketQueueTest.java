@@ -0,0 +1,62 @@
+package structures;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BucketQueueTest {
+
+    @Test
+    void popsTheSmallestPriorityTheLastAddedFirst() {
+        var queue=new BucketQueue( 4 );
+        queue.push( 1 , 3 );
+        queue.push( 2 , 1 );
+        queue.push( 3 , 3 );
+        queue.push( 4 , 1 );
+        assertEquals( 4 , queue.size() );
+
+        assertEquals( 1 , queue.peekPriority() );
+        assertEquals( 4 , queue.pop() );
+        assertEquals( 2 , queue.pop() );
+        assertEquals( 3 , queue.peekPriority() );
+        assertEquals( 3 , queue.pop() );
+        assertEquals( 1 , queue.pop() );
+        assertTrue( queue.isEmpty() );
+    }
+
+    @Test
+    void reusesTheBucketsWhenThePrioritiesGrow() {
+        //the priorities grow by 1 at a time,like the costs of A* with a consistent heuristic
+        var queue=new BucketQueue( 2 );
+        queue.push( 0 , 0 );
+        for(int priority=0;priority<1000;++priority){
+            assertEquals( priority , queue.peekPriority() );
+            assertEquals( priority , queue.pop() );
+            queue.push( priority+1 , priority+1 );
+            queue.push( priority+1000000 , priority+1 );
+            assertEquals( priority+1000000 , queue.pop() );
+        }
+        assertEquals( 1 , queue.size() );
+    }
+
+    @Test
+    void smallerPrioritiesAreAddedWithTheSmallestPriority() {
+        var queue=new BucketQueue( 8 );
+        queue.push( 1 , 5 );
+        queue.pop();
+        queue.push( 2 , 7 );
+        assertEquals( 7 , queue.peekPriority() );
+
+        queue.push( 3 , 2 );
+        assertEquals( 7 , queue.peekPriority() );
+        assertEquals( 3 , queue.pop() );
+    }
+
+    @Test
+    void rejectsPrioritiesTooFarFromTheSmallestOne() {
+        var queue=new BucketQueue( 4 );
+        queue.push( 1 , 0 );
+        queue.push( 2 , 4 );
+        assertThrows( IllegalArgumentException.class , () -> queue.push( 3 , 5 ) );
+    }
+}
@@ -0,0 +1,88 @@
+package structures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentStateTableTest {
+
+    @Test
+    void keepsTheSmallestParentOfTheSameLevel() {
+        var table=new ConcurrentStateTable( 16 );
+        assertTrue( table.add( 0 , ConcurrentStateTable.NONE , 0 ) );
+
+        assertTrue( table.add( 10 , 7 , 1 ) );
+        assertFalse( table.add( 10 , 3 , 1 ) );
+        assertFalse( table.add( 10 , 5 , 1 ) );
+        assertEquals( 3 , table.getParent( 10 ) );
+        assertEquals( ConcurrentStateTable.NONE , table.getParent( 0 ) );
+    }
+
+    @Test
+    void ignoresTheParentsOfLaterLevels() {
+        var table=new ConcurrentStateTable( 16 );
+        assertTrue( table.add( 10 , 7 , 1 ) );
+        assertFalse( table.add( 10 , 0 , 2 ) );
+        assertEquals( 7 , table.getParent( 10 ) );
+    }
+
+    @Test
+    void theParentDoesNotDependOnTheThreads() throws Exception {
+        int nrStates=20000,nrParents=8;
+        var table=new ConcurrentStateTable( nrStates );
+        ExecutorService executor=Executors.newFixedThreadPool( nrParents );
+        try {
+            var addedStates=new AtomicInteger();
+            var tasks=new ArrayList<Future<?>>();
+            //each thread adds every state with a different parent,the largest parents first
+            for(int thread=0;thread<nrParents;++thread){
+                long parent=1000000+nrParents-thread;
+                tasks.add( executor.submit( () -> {
+                    for(long state=0;state<nrStates;++state){
+                        if(table.add( state , parent+state , 1 )){
+                            addedStates.incrementAndGet();
+                        }
+                    }
+                } ) );
+            }
+            for(var task : tasks){
+                task.get();
+            }
+
+            assertEquals( nrStates , addedStates.get() );
+            for(long state=0;state<nrStates;++state){
+                assertTrue( table.contains( state ) );
+                assertEquals( 1000001+state , table.getParent( state ) );
+            }
+            assertFalse( table.contains( nrStates ) );
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void keepsTheStatesWhenItGrows() {
+        var table=new ConcurrentStateTable( 16 );
+        for(long state=0;state<10;++state){
+            table.add( state , state+100 , 1 );
+        }
+
+        table.grow( 1000 );
+        assertTrue( table.getMaxSize()>=1000 );
+        for(long state=0;state<10;++state){
+            assertEquals( state+100 , table.getParent( state ) );
+        }
+        //the levels are kept,so a parent of a later level is ignored
+        table.add( 5 , 0 , 2 );
+        assertEquals( 105 , table.getParent( 5 ) );
+        for(long state=10;state<1000;++state){
+            assertTrue( table.add( state , 0 , 2 ) );
+        }
+    }
+}
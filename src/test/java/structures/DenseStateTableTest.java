@@ -0,0 +1,45 @@
+package structures;
+
+import core.StateSpace;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DenseStateTableTest {
+
+    @Test
+    void behavesLikeAStateTable() {
+        for(long[] instance : new long[][]{ { 5 , 3 , 4 } , { 0 , 7 , 2 } , { 1 , 1 , 1 } , { 1000 , 999 , 1 } }){
+            var stateSpace=new StateSpace( instance[0] , instance[1] , instance[2] );
+            StateStoreAssertions.assertBehavesLikeStateTable( new DenseStateTable( stateSpace ) , stateSpace , 5000 , instance[0] );
+        }
+    }
+
+    @Test
+    void holdsEveryStateOfTheInstance() {
+        //more states than the initial capacity of the arrays
+        var stateSpace=new StateSpace( 700 , 600 , 1 );
+        var table=new DenseStateTable( stateSpace );
+        for(long index=0;index<stateSpace.getNrIndexes();++index){
+            long state=stateSpace.stateAt( index );
+            assertEquals( StateStore.NONE , table.find( state ) );
+            assertEquals( index , table.add( state , (int) index-1 , 0 , 0 ) );
+        }
+        assertEquals( stateSpace.getNrIndexes() , table.size() );
+        for(long index=0;index<stateSpace.getNrIndexes();++index){
+            assertEquals( index , table.find( stateSpace.stateAt( index ) ) );
+        }
+    }
+
+    @Test
+    void rejectsInstancesWithTooManyStates() {
+        var stateSpace=new StateSpace( 1L<<40 , 3 , 1 );
+        assertThrows( IllegalArgumentException.class , () -> new DenseStateTable( stateSpace ) );
+    }
+
+    @Test
+    void isUsedForTheSmallInstances() {
+        assertInstanceOf( DenseStateTable.class , StateStore.create( new StateSpace( 1000 , 999 , 1 ) , 1000000 ) );
+        assertInstanceOf( StateTable.class , StateStore.create( new StateSpace( 1L<<40 , 3 , 1 ) , 1000 ) );
+    }
+}
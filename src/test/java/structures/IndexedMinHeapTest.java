@@ -0,0 +1,60 @@
+package structures;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexedMinHeapTest {
+
+    @Test
+    void popsTheSmallestPriorityAfterDecreasePriority() {
+        var random=new Random( 1 );
+        int nrIds=1000;
+        double[] priorities=new double[nrIds];
+        var heap=new IndexedMinHeap( 4 );
+        for(int id=0;id<nrIds;++id){
+            priorities[id]=random.nextInt( 10000 );
+            heap.push( id , priorities[id] );
+        }
+        for(int i=0;i<nrIds;++i){
+            int id=random.nextInt( nrIds );
+            priorities[id]-=random.nextInt( 5000 );
+            heap.decreasePriority( id , priorities[id] );
+        }
+
+        double lastPriority=Double.NEGATIVE_INFINITY;
+        boolean[] popped=new boolean[nrIds];
+        while(!heap.isEmpty()){
+            double priority=heap.peekPriority();
+            int id=heap.pop();
+            assertFalse( popped[id] );
+            assertFalse( heap.contains( id ) );
+            assertEquals( priorities[id] , priority );
+            assertTrue( priority>=lastPriority );
+            popped[id]=true;
+            lastPriority=priority;
+        }
+        for(int id=0;id<nrIds;++id){
+            assertTrue( popped[id] );
+        }
+    }
+
+    @Test
+    void decreasePriorityMovesTheIdToTheTop() {
+        var heap=new IndexedMinHeap();
+        heap.push( 3 , 5 );
+        heap.push( 7 , 2 );
+        heap.push( 100 , 9 );
+        assertTrue( heap.contains( 100 ) );
+        assertFalse( heap.contains( 4 ) );
+
+        heap.decreasePriority( 100 , 1 );
+        assertEquals( 1 , heap.peekPriority() );
+        assertEquals( 100 , heap.pop() );
+        assertEquals( 7 , heap.pop() );
+        assertEquals( 3 , heap.pop() );
+        assertTrue( heap.isEmpty() );
+    }
+}
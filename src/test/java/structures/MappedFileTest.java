@@ -0,0 +1,86 @@
+package structures;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedFileTest {
+
+    static long nrFiles( Path directory ) throws IOException {
+        try (Stream<Path> files=Files.list( directory )) {
+            return files.count();
+        }
+    }
+
+    /**
+     * Runs the task with the files of the stores created in a new directory,so they can be counted
+     */
+    static void withStateStoreDirectory( IOTask task ) throws IOException {
+        Path directory=Files.createTempDirectory( "statestore" );
+        String previousDirectory=System.getProperty( "statestore.dir" );
+        System.setProperty( "statestore.dir" , directory.toString() );
+        try {
+            task.run( directory );
+        } finally {
+            if(previousDirectory==null){
+                System.clearProperty( "statestore.dir" );
+            } else {
+                System.setProperty( "statestore.dir" , previousDirectory );
+            }
+            Files.delete( directory );
+        }
+    }
+
+    interface IOTask {
+        void run( Path directory ) throws IOException;
+    }
+
+    @Test
+    void keepsTheValuesOfEveryChunk() throws IOException {
+        withStateStoreDirectory( directory -> {
+            var file=new MappedFile( "test" );
+            try {
+                //the values around the end of the first chunk and in a chunk far away
+                long chunk=1L<<30;
+                file.putLong( chunk-8 , 0x0123456789ABCDEFL );
+                file.putLong( chunk , -2 );
+                file.putInt( 3*chunk+4 , 42 );
+                file.putByte( 3*chunk+9 , (byte) 7 );
+
+                assertEquals( 0x0123456789ABCDEFL , file.getLong( chunk-8 ) );
+                assertEquals( -2 , file.getLong( chunk ) );
+                assertEquals( 42 , file.getInt( 3*chunk+4 ) );
+                assertEquals( 7 , file.getByte( 3*chunk+9 ) );
+                //the values that were never written are 0
+                assertEquals( 0 , file.getLong( 2*chunk ) );
+                assertEquals( 0 , file.getInt( 3*chunk ) );
+            } finally {
+                file.close();
+            }
+        } );
+    }
+
+    @Test
+    void closeDeletesTheFile() throws IOException {
+        withStateStoreDirectory( directory -> {
+            var file=new MappedFile( "test" );
+            file.putInt( 0 , 1 );
+            file.close();
+            assertEquals( 0 , nrFiles( directory ) );
+        } );
+    }
+
+    @Test
+    void aMissingDirectoryFailsWithoutFiles() throws IOException {
+        withStateStoreDirectory( directory -> {
+            System.setProperty( "statestore.dir" , directory.resolve( "missing" ).toString() );
+            assertThrows( RuntimeException.class , () -> new MappedFile( "test" ) );
+            assertEquals( 0 , nrFiles( directory ) );
+        } );
+    }
+}
@@ -0,0 +1,75 @@
+package structures;
+
+import core.StateSpace;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapStateTableTest {
+
+    @Test
+    void behavesLikeAStateTable() throws IOException {
+        MappedFileTest.withStateStoreDirectory( directory -> {
+            var stateSpace=new StateSpace( 1L<<40 , ( 1L<<40 )-1 , 1 );
+            var table=new OffHeapStateTable( 100000 );
+            try {
+                StateStoreAssertions.assertBehavesLikeStateTable( table , stateSpace , 100000 , 1 );
+            } finally {
+                table.release();
+            }
+            assertEquals( 0 , MappedFileTest.nrFiles( directory ) );
+        } );
+    }
+
+    @Test
+    void rejectsMoreStatesThanItsSize() throws IOException {
+        MappedFileTest.withStateStoreDirectory( directory -> {
+            var table=new OffHeapStateTable( 2 );
+            try {
+                table.add( 1 , StateStore.NONE , StateStore.NO_MOVE , 0 );
+                table.add( 2 , 0 , 0 , 1 );
+                assertThrows( IllegalStateException.class , () -> table.add( 3 , 1 , 0 , 2 ) );
+            } finally {
+                table.release();
+            }
+        } );
+    }
+
+    @Test
+    void isUsedWhenTheStatesDontFitInTheHeap() throws IOException {
+        MappedFileTest.withStateStoreDirectory( directory -> {
+            var stateSpace=new StateSpace( 1L<<40 , 3 , 1 );
+            assertInstanceOf( StateTable.class , StateStore.create( stateSpace , 1000 , StateStore.MAX_HEAP_BYTES ) );
+
+            var store=StateStore.create( stateSpace , 1000 , 0 );
+            try {
+                assertInstanceOf( OffHeapStateTable.class , store );
+            } finally {
+                store.release();
+            }
+            assertEquals( 0 , MappedFileTest.nrFiles( directory ) );
+
+            //the small instances are kept in a DenseStateTable anyway
+            assertInstanceOf( DenseStateTable.class , StateStore.create( new StateSpace( 5 , 3 , 4 ) , 1000 , 0 ) );
+        } );
+    }
+
+    @Test
+    void theThresholdCanBeSetWithASystemProperty() throws IOException {
+        MappedFileTest.withStateStoreDirectory( directory -> {
+            var stateSpace=new StateSpace( 1L<<40 , 3 , 1 );
+            System.setProperty( "statestore.max-heap-bytes" , "0" );
+            StateStore store;
+            try {
+                store=StateStore.create( stateSpace , 1000 );
+            } finally {
+                System.clearProperty( "statestore.max-heap-bytes" );
+            }
+            store.release();
+            assertInstanceOf( OffHeapStateTable.class , store );
+            assertInstanceOf( StateTable.class , StateStore.create( stateSpace , 1000 ) );
+        } );
+    }
+}
@@ -0,0 +1,51 @@
+package structures;
+
+import core.StateSpace;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks a StateStore against a StateTable,the simplest store
+ */
+final class StateStoreAssertions {
+    private StateStoreAssertions() {
+    }
+
+    /**
+     * Does the same random finds,adds,updates and closes on the store and on a StateTable and compares their results
+     * @param store an empty store for the given instance
+     */
+    static void assertBehavesLikeStateTable( StateStore store , StateSpace stateSpace , int nrOperations , long seed ) {
+        var expected=new StateTable();
+        var random=new Random( seed );
+        for(int i=0;i<nrOperations;++i){
+            long state=stateSpace.stateAt( Math.floorMod( random.nextLong() , stateSpace.getNrIndexes() ) );
+            int id=store.find( state );
+            assertEquals( expected.find( state ) , id );
+
+            int parent=expected.size()==0 ? StateStore.NONE : random.nextInt( expected.size() );
+            int move=random.nextInt( 6 ),cost=random.nextInt( 1000 );
+            if(id==StateStore.NONE){
+                assertEquals( expected.add( state , parent , move , cost ) , store.add( state , parent , move , cost ) );
+            } else if(random.nextBoolean()){
+                expected.update( id , parent , move , cost );
+                store.update( id , parent , move , cost );
+            } else {
+                expected.close( id );
+                store.close( id );
+            }
+        }
+
+        assertEquals( expected.size() , store.size() );
+        for(int id=0;id<expected.size();++id){
+            assertEquals( expected.getState( id ) , store.getState( id ) );
+            assertEquals( expected.getParent( id ) , store.getParent( id ) );
+            assertEquals( expected.getMove( id ) , store.getMove( id ) );
+            assertEquals( expected.getCost( id ) , store.getCost( id ) );
+            assertEquals( expected.isClosed( id ) , store.isClosed( id ) );
+            assertEquals( id , store.find( expected.getState( id ) ) );
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package structures;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StateTableTest {
+
+    @Test
+    void keepsTheStatesWhenItGrows() {
+        //many more states than the initial size,so the entries and the buckets grow several times
+        var table=new StateTable( 4 );
+        int nrStates=100000;
+        for(int i=0;i<nrStates;++i){
+            long state=( (long) i<<32 )|( i*7L );
+            assertEquals( StateTable.NONE , table.find( state ) );
+            assertEquals( i , table.add( state , i-1 , i%6 , i/2 ) );
+        }
+
+        assertEquals( nrStates , table.size() );
+        for(int i=0;i<nrStates;++i){
+            long state=( (long) i<<32 )|( i*7L );
+            int id=table.find( state );
+            assertEquals( i , id );
+            assertEquals( state , table.getState( id ) );
+            assertEquals( i-1 , table.getParent( id ) );
+            assertEquals( i%6 , table.getMove( id ) );
+            assertEquals( i/2 , table.getCost( id ) );
+        }
+    }
+
+    @Test
+    void updateKeepsTheClosedFlag() {
+        var table=new StateTable();
+        int id=table.add( 42 , StateTable.NONE , 5 , 10 );
+        assertFalse( table.isClosed( id ) );
+
+        table.close( id );
+        table.update( id , 3 , 2 , 4 );
+        assertTrue( table.isClosed( id ) );
+        assertEquals( 3 , table.getParent( id ) );
+        assertEquals( 2 , table.getMove( id ) );
+        assertEquals( 4 , table.getCost( id ) );
+    }
+}